@@ -1,10 +1,15 @@
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
 import javafx.geometry.Side;
 import javafx.scene.control.ContextMenu;
 import javafx.scene.control.CustomMenuItem;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextField;
+import javafx.util.Duration;
 
-import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 
 /**
@@ -17,111 +22,178 @@ import java.util.*;
 
 class AutoCompleteTextField extends TextField {
 
+    // max item number
+    private static final int MAX_ENTRIES = 10;
+
+    // quiet time after the last keystroke before a lookup starts
+    private static final double DEBOUNCE_MILLIS = 120;
+
+    // lookups run one at a time off the JavaFX application thread
+    private static final ExecutorService LOOKUP_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "autocomplete-lookup");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private ContextMenu contextMenu;
 
+    // menu items and their labels, created once and relabelled for each result
+    private final CustomMenuItem[] menuItems = new CustomMenuItem[MAX_ENTRIES];
+    private final Label[] menuLabels = new Label[MAX_ENTRIES];
+
+    private final PauseTransition debounce = new PauseTransition(Duration.millis(DEBOUNCE_MILLIS));
+
+    private volatile PrefixIndex symbolIndex;
+
+    // increased for every text change, results of older lookups are dropped
+    private volatile long generation = 0;
+
+    private Future<?> pendingLookup;
+
     /**
      * Class constructor
      *
-     * @param generalMap prefix tree
+     * @param symbolIndex prefix index
      */
-    AutoCompleteTextField(SortedMap<String, String> generalMap) {
+    AutoCompleteTextField(PrefixIndex symbolIndex) {
 
         super();
         this.contextMenu = new ContextMenu();
+        this.symbolIndex = symbolIndex;
 
-        textProperty().addListener((observable, oldValue, newValue) -> {
+        for (int i = 0; i < MAX_ENTRIES; i++) {
 
-            String prefix = getText();
+            Label label = new Label();
+            CustomMenuItem item = new CustomMenuItem(label, true);
 
-            if (prefix == null || prefix.isEmpty()) {
-                // empty text
+            item.setOnAction(actionEvent -> {
+                // when the item is selected
+                // set text of text filed to the text of item
+                // hide the context menu
+                setText(label.getText());
                 contextMenu.hide();
-            } else {
-
-                // format text to uppercase
-                prefix = prefix.toUpperCase();
 
-                SortedMap<String, String> filteredMap = filterPrefix(generalMap, prefix);
+            });
 
-                if (!filteredMap.isEmpty()) {
-                    // matched result is not empty
-                    populatePopUp(filteredMap);
+            menuLabels[i] = label;
+            menuItems[i] = item;
 
-                    if (!contextMenu.isShowing()) {
-                        // display context menu
-                        contextMenu.show(this, Side.BOTTOM, 0, 0);
+        }
 
-                    }
+        contextMenu.getItems().addAll(menuItems);
 
-                } else {
-                    // noting matched
-                    contextMenu.hide();
+        textProperty().addListener((observable, oldValue, newValue) -> {
 
-                }
+            // newer text arrived, cancel lookup of older text
+            generation++;
+            cancelPendingLookup();
 
+            if (newValue == null || newValue.isEmpty()) {
+                // empty text
+                debounce.stop();
+                contextMenu.hide();
+            } else {
+                // wait for typing to pause
+                debounce.playFromStart();
             }
+
         });
 
+        debounce.setOnFinished(actionEvent -> startLookup());
+
         // hide the context menu when losing focus
         focusedProperty().addListener((observableValue, oldValue, newValue) -> contextMenu.hide());
     }
 
     /**
-     * Bind context menu with matched result
+     * Replace prefix index, called on the JavaFX application thread when a newer symbol list is loaded
      *
-     * @param resultMap result
+     * @param symbolIndex prefix index
+     */
+    void setSymbolIndex(PrefixIndex symbolIndex) {
+        this.symbolIndex = symbolIndex;
+    }
+
+    /**
+     * Submit lookup of current text to the lookup thread
      */
-    private void populatePopUp(SortedMap<String, String> resultMap) {
+    private void startLookup() {
 
-        // max item number
-        int maxEntries = Math.min(resultMap.size(), 10);
+        String text = getText();
 
-        List<CustomMenuItem> menuItems = new LinkedList<>();
+        if (text == null || text.isEmpty()) {
+            return;
+        }
 
-        for (Map.Entry<String, String> entry : resultMap.entrySet()) {
+        // format text to uppercase
+        String prefix = text.toUpperCase();
+        long lookupGeneration = generation;
 
-            String result = entry.getValue();
-            CustomMenuItem item = new CustomMenuItem(new Label(result), true);
+        pendingLookup = LOOKUP_EXECUTOR.submit(() -> {
 
-            item.setOnAction(actionEvent -> {
-                // when the item is selected
-                // set text of text filed to the text of item
-                // hide the context menu
-                setText(result);
-                contextMenu.hide();
+            if (lookupGeneration != generation) {
+                // text changed while waiting
+                return;
+            }
+
+            PrefixIndex index = symbolIndex;
+            int[] results = new int[MAX_ENTRIES];
+            int count = index.find(prefix, results);
 
+            String[] texts = new String[count];
+            for (int i = 0; i < count; i++) {
+                texts[i] = index.getDisplayText(results[i]);
+            }
+
+            Platform.runLater(() -> {
+                if (lookupGeneration == generation) {
+                    showResults(texts);
+                }
             });
-            menuItems.add(item);
 
-            if (menuItems.size() >= maxEntries) {
+        });
 
-                break;
+    }
 
-            }
+    /**
+     * Cancel lookup not started yet
+     */
+    private void cancelPendingLookup() {
 
+        if (pendingLookup != null) {
+            pendingLookup.cancel(false);
+            pendingLookup = null;
         }
 
-        // clear last binding
-        contextMenu.getItems().clear();
-        contextMenu.getItems().addAll(menuItems);
-
     }
 
     /**
-     * filter prefix tree by text
+     * Bind context menu with matched result
+     * labels of the pooled items are updated, unused items are hidden
      *
-     * @param prefixTree prefix tree
-     * @param prefix     text
-     * @return matched result
+     * @param texts display texts of matched symbols
      */
-    private static SortedMap<String, String> filterPrefix(SortedMap<String, String> prefixTree, String prefix) {
+    private void showResults(String[] texts) {
 
-        // get last letter of text's next letter
-        char nextLetter = (char) (prefix.charAt(prefix.length() - 1) + 1);
-        String endPoint = prefix.substring(0, prefix.length() - 1) + nextLetter;
+        if (texts.length == 0) {
+            // noting matched
+            contextMenu.hide();
+            return;
+        }
 
-        // e.g. fromKey: TEXT, toKey: TEXU
-        return prefixTree.subMap(prefix, endPoint);
+        for (int i = 0; i < MAX_ENTRIES; i++) {
+            if (i < texts.length) {
+                menuLabels[i].setText(texts[i]);
+                menuItems[i].setVisible(true);
+            } else {
+                menuItems[i].setVisible(false);
+            }
+        }
+
+        if (!contextMenu.isShowing()) {
+            // display context menu
+            contextMenu.show(this, Side.BOTTOM, 0, 0);
+        }
 
     }
 
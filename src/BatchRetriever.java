@@ -0,0 +1,316 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Batch retrieval of a watchlist
+ * every symbol is downloaded and parsed by its own task, downloads queue for a connection
+ * while finished ones are parsed on the other workers, so parsing overlaps the transfers still running,
+ * parsed series are kept in an in-memory store keyed by symbol
+ * <p>
+ * usage: java -Djava.awt.headless=true BatchRetriever WATCHLIST_FILE START_DATE END_DATE
+ *
+ * @author Xudong Wang (xwang199@sheffield.ac.uk)
+ * @version 1.0 18 October 2026
+ */
+
+
+class BatchRetriever {
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    // workers beyond the connection limit parse while the others wait for the network
+    private static final int WORKERS = HttpDownloader.getMaxConnections() + Runtime.getRuntime().availableProcessors();
+
+    // daemon workers, the pool never keeps the application alive
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(WORKERS, runnable -> {
+        Thread thread = new Thread(runnable, "batch-" + THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final DataParser dataParser;
+
+    // key: symbol value: latest parsed series
+    private final ConcurrentHashMap<String, ParsedSeries> store = new ConcurrentHashMap<>();
+
+    /**
+     * Class constructor
+     *
+     * @param dataParser computes the indicators of each series
+     */
+    BatchRetriever(DataParser dataParser) {
+        this.dataParser = dataParser;
+    }
+
+    /**
+     * Entrance of batch retrieval mode
+     *
+     * @param args watchlist file, start date and end date like 2018-12-30
+     */
+    public static void main(String[] args) {
+
+        if (args.length < 3) {
+            System.err.println("usage: java -Djava.awt.headless=true BatchRetriever WATCHLIST_FILE START_DATE END_DATE");
+            System.exit(1);
+        }
+
+        // nothing in this mode needs a display
+        System.setProperty("java.awt.headless", "true");
+
+        try {
+
+            List<String> symbols = readWatchlist(args[0]);
+            LocalDate startDate = LocalDate.parse(args[1]);
+            LocalDate endDate = LocalDate.parse(args[2]);
+
+            long start = System.nanoTime();
+
+            BatchRetriever retriever = new BatchRetriever(new DataParser());
+            Map<String, ParsedSeries> store = retriever.retrieve(symbols, startDate, endDate, (timing, completed, total) ->
+                    System.out.printf("[%d/%d] %s%n", completed, total, timing)
+            ).join();
+
+            System.out.printf("%d of %d symbols retrieved in %d ms with %d connections%n",
+                    store.size(), symbols.size(), (System.nanoTime() - start) / 1000000, HttpDownloader.getMaxConnections());
+
+        } catch (IOException | RuntimeException e) {
+            e.printStackTrace();
+            System.exit(1);
+        }
+
+    }
+
+    /**
+     * Read symbols separated by new lines or commas, duplicates and blanks are left out
+     *
+     * @param filePath of watchlist
+     * @return symbols in order of first appearance
+     * @throws IOException if the file cannot be read
+     */
+    static List<String> readWatchlist(String filePath) throws IOException {
+
+        Set<String> symbols = new LinkedHashSet<>();
+
+        for (String line : Files.readAllLines(Paths.get(filePath), StandardCharsets.UTF_8)) {
+            for (String symbol : line.split(",")) {
+                symbol = symbol.trim().toUpperCase();
+                if (!symbol.isEmpty()) {
+                    symbols.add(symbol);
+                }
+            }
+        }
+
+        return new ArrayList<>(symbols);
+
+    }
+
+    /**
+     * Retrieve and parse every symbol of a watchlist between start date and end date
+     * a symbol that fails is reported to the listener and left out of the result
+     *
+     * @param symbols   ticker symbols
+     * @param startDate start date
+     * @param endDate   end date
+     * @param listener  told of each symbol as it finishes, called on worker threads
+     * @return future of the series parsed by this call, keyed by symbol in watchlist order
+     */
+    CompletableFuture<Map<String, ParsedSeries>> retrieve(List<String> symbols, LocalDate startDate, LocalDate endDate, Listener listener) {
+
+        int total = symbols.size();
+        AtomicInteger completed = new AtomicInteger();
+
+        List<CompletableFuture<ParsedSeries>> futures = new ArrayList<>(total);
+
+        for (String symbol : symbols) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+
+                long start = System.nanoTime();
+                PriceSeries series = null;
+                ParsedSeries parsed = null;
+                Throwable error = null;
+
+                try {
+                    // waits for a connection only while a gap is downloaded
+                    series = QuoteCache.getSeries(symbol, startDate, endDate);
+                } catch (IOException | RuntimeException e) {
+                    error = e;
+                }
+
+                // time to a failed retrieval is counted as retrieval, a failed parse as parsing
+                long retrieved = System.nanoTime();
+
+                if (series != null && series.size() > 0) {
+                    try {
+                        parsed = dataParser.parse(series);
+                        store.put(symbol, parsed);
+                    } catch (RuntimeException e) {
+                        error = e;
+                    }
+                }
+
+                long end = System.nanoTime();
+
+                Timing timing = new Timing(
+                        symbol,
+                        series == null ? 0 : series.size(),
+                        (retrieved - start) / 1000000,
+                        (end - retrieved) / 1000000,
+                        error
+                );
+                listener.onFinished(timing, completed.incrementAndGet(), total);
+
+                return parsed;
+
+            }, EXECUTOR));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            Map<String, ParsedSeries> result = new LinkedHashMap<>();
+            for (int i = 0; i < total; i++) {
+                // all futures are completed, failed symbols are null
+                ParsedSeries parsed = futures.get(i).join();
+                if (parsed != null) {
+                    result.put(symbols.get(i), parsed);
+                }
+            }
+            return Collections.unmodifiableMap(result);
+        });
+
+    }
+
+    /**
+     * Get the latest parsed series of a symbol retrieved by any batch
+     *
+     * @param symbol ticker symbol
+     * @return parsed series, null if not retrieved
+     */
+    ParsedSeries get(String symbol) {
+        return store.get(symbol);
+    }
+
+    /**
+     * @return read only view of every series retrieved so far
+     */
+    Map<String, ParsedSeries> getStore() {
+        return Collections.unmodifiableMap(store);
+    }
+
+    /**
+     * Progress callback of a batch
+     */
+    interface Listener {
+
+        /**
+         * Called once per symbol when its retrieval succeeded or failed
+         *
+         * @param timing    of the symbol
+         * @param completed number of symbols finished so far
+         * @param total     number of symbols in the batch
+         */
+        void onFinished(Timing timing, int completed, int total);
+
+    }
+
+    /**
+     * Outcome and timings of one symbol
+     */
+    static class Timing {
+
+        private final String symbol;
+        private final int rows;
+        private final long retrieveMillis;
+        private final long parseMillis;
+        private final Throwable error;
+
+        /**
+         * Class constructor
+         *
+         * @param symbol         ticker symbol
+         * @param rows           number of rows retrieved
+         * @param retrieveMillis time spent reading the cache and downloading
+         * @param parseMillis    time spent computing the indicators
+         * @param error          cause of failure, null if succeeded
+         */
+        Timing(String symbol, int rows, long retrieveMillis, long parseMillis, Throwable error) {
+            this.symbol = symbol;
+            this.rows = rows;
+            this.retrieveMillis = retrieveMillis;
+            this.parseMillis = parseMillis;
+            this.error = error;
+        }
+
+        /**
+         * @return ticker symbol
+         */
+        String getSymbol() {
+            return symbol;
+        }
+
+        /**
+         * @return number of rows retrieved
+         */
+        int getRows() {
+            return rows;
+        }
+
+        /**
+         * @return time spent reading the cache and downloading
+         */
+        long getRetrieveMillis() {
+            return retrieveMillis;
+        }
+
+        /**
+         * @return time spent computing the indicators
+         */
+        long getParseMillis() {
+            return parseMillis;
+        }
+
+        /**
+         * @return cause of failure, null if succeeded
+         */
+        Throwable getError() {
+            return error;
+        }
+
+        /**
+         * @return boolean true if rows were retrieved
+         */
+        boolean isSucceeded() {
+            return error == null && rows > 0;
+        }
+
+        @Override
+        public String toString() {
+
+            if (error != null) {
+                return symbol + " failed: " + error;
+            }
+            if (rows == 0) {
+                return symbol + " no data";
+            }
+
+            return symbol + " " + rows + " rows, retrieved in " + retrieveMillis + " ms, parsed in " + parseMillis + " ms";
+
+        }
+
+    }
+
+}
@@ -0,0 +1,208 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.RecursiveAction;
+
+
+/**
+ * Headless batch mode
+ * every price CSV file of a directory is read and summarised in parallel on the fork-join pool,
+ * one line per symbol is written to a CSV file, no window is opened
+ * <p>
+ * usage: java -Djava.awt.headless=true BatchStatistics DIRECTORY [OUTPUT_FILE]
+ *
+ * @author Xudong Wang (xwang199@sheffield.ac.uk)
+ * @version 1.0 18 October 2026
+ */
+
+
+class BatchStatistics {
+
+    private static final String DEFAULT_OUTPUT_PATH = "statistics.csv";
+    private static final String FILE_PATTERN = "*.csv";
+
+    private static final String HEADER =
+            "Symbol,Rows,Start,End,Low,High,First Close,Last Close,Return,Annual Volatility,Max Drawdown,Total Volume";
+
+    /**
+     * Entrance of batch mode
+     *
+     * @param args directory of price CSV files, optional output file
+     */
+    public static void main(String[] args) {
+
+        if (args.length == 0) {
+            System.err.println("usage: java -Djava.awt.headless=true BatchStatistics DIRECTORY [OUTPUT_FILE]");
+            System.exit(1);
+        }
+
+        // nothing in this mode needs a display
+        System.setProperty("java.awt.headless", "true");
+
+        Path directory = Paths.get(args[0]);
+        Path output = Paths.get(args.length > 1 ? args[1] : DEFAULT_OUTPUT_PATH);
+
+        try {
+            long start = System.nanoTime();
+            int count = run(directory, output);
+            System.out.printf("%d symbols summarised in %d ms%n", count, (System.nanoTime() - start) / 1000000);
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.exit(1);
+        }
+
+    }
+
+    /**
+     * Summarise every price CSV file of a directory
+     *
+     * @param directory of price CSV files
+     * @param output    CSV file to write
+     * @return number of symbols written
+     * @throws IOException if the directory cannot be listed or the output cannot be written
+     */
+    static int run(Path directory, Path output) throws IOException {
+
+        List<Path> files = new ArrayList<>();
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, FILE_PATTERN)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+
+        Path[] paths = files.toArray(new Path[0]);
+        SeriesStatistics[] results = new SeriesStatistics[paths.length];
+
+        // files are split recursively and stolen by idle workers
+        new SummariseTask(paths, results, 0, paths.length).invoke();
+
+        // unreadable or empty files are left out
+        SeriesStatistics[] statistics = Arrays.stream(results)
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparing(SeriesStatistics::getSymbol))
+                .toArray(SeriesStatistics[]::new);
+
+        write(output, statistics);
+
+        return statistics.length;
+
+    }
+
+    /**
+     * Get symbol by file name like 'AAPL_01_12_2018_30_12_2018.csv' or 'AAPL.csv'
+     *
+     * @param file price CSV file
+     * @return ticker symbol
+     */
+    static String getSymbol(Path file) {
+
+        String name = file.getFileName().toString();
+
+        int end = name.indexOf('_');
+        if (end < 0) {
+            end = name.lastIndexOf('.');
+        }
+
+        return end > 0 ? name.substring(0, end) : name;
+
+    }
+
+    /**
+     * Write one line per symbol
+     *
+     * @param output     CSV file to write
+     * @param statistics of each symbol
+     * @throws IOException if the file cannot be written
+     */
+    private static void write(Path output, SeriesStatistics[] statistics) throws IOException {
+
+        try (BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.US_ASCII)) {
+
+            writer.write(HEADER);
+            writer.newLine();
+
+            for (SeriesStatistics s : statistics) {
+                // dot decimals whatever the default locale is
+                writer.write(String.format(
+                        Locale.ROOT,
+                        "%s,%d,%s,%s,%.4f,%.4f,%.4f,%.4f,%.6f,%.6f,%.6f,%.0f",
+                        s.getSymbol(),
+                        s.getRows(),
+                        LocalDate.ofEpochDay(s.getStartDay()),
+                        LocalDate.ofEpochDay(s.getEndDay()),
+                        s.getLow(),
+                        s.getHigh(),
+                        s.getFirstClose(),
+                        s.getLastClose(),
+                        s.getTotalReturn(),
+                        s.getAnnualVolatility(),
+                        s.getMaxDrawdown(),
+                        s.getTotalVolume()
+                ));
+                writer.newLine();
+            }
+
+        }
+
+    }
+
+    /**
+     * Read and summarise a range of files, split in halves until one file is left
+     */
+    private static class SummariseTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Path[] paths;
+        private final SeriesStatistics[] results;
+        private final int from;
+        private final int to;
+
+        SummariseTask(Path[] paths, SeriesStatistics[] results, int from, int to) {
+            this.paths = paths;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(
+                        new SummariseTask(paths, results, from, middle),
+                        new SummariseTask(paths, results, middle, to)
+                );
+                return;
+            }
+
+            if (from == to) {
+                return;
+            }
+
+            try {
+                // each task writes its own slot, no locking needed
+                results[from] = SeriesStatistics.of(getSymbol(paths[from]), PriceFileReader.read(paths[from].toString()));
+            } catch (IOException | RuntimeException e) {
+                // skip malformed file and keep the others
+                System.err.println("Skipped " + paths[from] + ": " + e);
+            }
+
+        }
+
+    }
+
+}
@@ -0,0 +1,183 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.geom.Rectangle2D;
+
+
+/**
+ * ChartPanel class
+ * margins, fonts, colours and axes shared by the line charts,
+ * so the historical and the streaming charts look the same.
+ *
+ * @author Xudong Wang (xwang199@sheffield.ac.uk)
+ * @version 1.0 18 October 2026
+ */
+
+
+abstract class ChartPanel extends JPanel {
+
+    private static final long serialVersionUID = 1L;
+
+    // constant variables
+    static final int AXIS_NUMBER = 5;
+    static final int AXIS_OFFSET = 5;
+    static final int CAPTION_OFFSET = 20;
+
+    static final int TOP_MARGIN = 90;
+    static final int LEFT_MARGIN = 65;
+    static final int RIGHT_MARGIN = 35;
+    static final int BOTTOM_MARGIN = 50;
+
+    static final String FONT_NAME = "Lucida Console";
+
+    static final Font CAPTION_FONT = new Font(FONT_NAME, Font.PLAIN, 16);
+    static final Font LABEL_FONT = new Font(FONT_NAME, Font.PLAIN, 10);
+
+    static final BasicStroke THIN_STROKE = new BasicStroke(1);
+    static final BasicStroke THICK_STROKE = new BasicStroke(2);
+
+    static final Color BORDER_COLOR = new Color(222, 222, 222);
+    static final Color DARK_GREY = new Color(158, 158, 158);
+    static final Color LIGHT_GREY = new Color(158, 158, 158, 200);
+    static final Color DARK_BLUE = new Color(57, 119, 175);
+
+    // rendering settings to make line chart smooth, applied pairwise
+    private static final RenderingHints.Key[] RENDERING_HINT_KEYS = {
+            RenderingHints.KEY_ANTIALIASING,
+            RenderingHints.KEY_ALPHA_INTERPOLATION,
+            RenderingHints.KEY_COLOR_RENDERING,
+            RenderingHints.KEY_FRACTIONALMETRICS,
+            RenderingHints.KEY_INTERPOLATION,
+            RenderingHints.KEY_RENDERING,
+            RenderingHints.KEY_STROKE_CONTROL,
+            RenderingHints.KEY_TEXT_ANTIALIASING
+    };
+    private static final Object[] RENDERING_HINT_VALUES = {
+            RenderingHints.VALUE_ANTIALIAS_ON,
+            RenderingHints.VALUE_ALPHA_INTERPOLATION_QUALITY,
+            RenderingHints.VALUE_COLOR_RENDER_QUALITY,
+            RenderingHints.VALUE_FRACTIONALMETRICS_ON,
+            RenderingHints.VALUE_INTERPOLATION_BICUBIC,
+            RenderingHints.VALUE_RENDER_QUALITY,
+            RenderingHints.VALUE_STROKE_NORMALIZE,
+            RenderingHints.VALUE_TEXT_ANTIALIAS_ON
+    };
+
+    /**
+     * Class constructor
+     */
+    ChartPanel() {
+
+        // set white background
+        super.setBackground(Color.white);
+        // set light grey border color
+        super.setBorder(BorderFactory.createLineBorder(BORDER_COLOR, 1));
+
+    }
+
+    /**
+     * Rendering setting to make line chart smooth
+     *
+     * @param g2d Graphics2D object
+     */
+    static void initialise(Graphics2D g2d) {
+
+        for (int i = 0; i < RENDERING_HINT_KEYS.length; i++) {
+            g2d.setRenderingHint(RENDERING_HINT_KEYS[i], RENDERING_HINT_VALUES[i]);
+        }
+
+    }
+
+    /**
+     * Draw caption of line chart
+     *
+     * @param g2d     Graphics2d object
+     * @param caption of the line chart
+     */
+    void drawCaption(Graphics2D g2d, String caption) {
+
+        g2d.setColor(Color.black);
+        g2d.setFont(CAPTION_FONT);
+
+        FontMetrics fontMetrics = g2d.getFontMetrics();
+        Rectangle2D captionBounds = fontMetrics.getStringBounds(caption, g2d);
+
+        int yFontOffset = fontMetrics.getAscent();
+        int x = (int) (getWidth() - captionBounds.getWidth()) / 2;
+        int y = yFontOffset + CAPTION_OFFSET;
+        g2d.drawString(caption, x, y);
+
+    }
+
+    /**
+     * Draw X-axis
+     *
+     * @param g2d      Graphics2d object
+     * @param interval pixel interval of each step to draw x Axis
+     * @param axisX1   x1 of line
+     * @param axisX2   x2 of line
+     * @param axisY    y of line
+     */
+    static void drawXAxis(Graphics2D g2d, int interval, int axisX1, int axisX2, int axisY) {
+
+        g2d.setColor(DARK_GREY);
+        g2d.setStroke(THICK_STROKE);
+        // draw the bottom x-axis
+        g2d.drawLine(axisX1, axisY, axisX2, axisY);
+
+        drawGridLines(g2d, interval, axisX1, axisX2, axisY);
+
+    }
+
+    /**
+     * Draw horizontal grid lines above the bottom x-axis
+     *
+     * @param g2d      Graphics2d object
+     * @param interval pixel interval of each grid line
+     * @param axisX1   x1 of line
+     * @param axisX2   x2 of line
+     * @param axisY    y of the bottom x-axis
+     */
+    static void drawGridLines(Graphics2D g2d, int interval, int axisX1, int axisX2, int axisY) {
+
+        g2d.setColor(LIGHT_GREY);
+        g2d.setStroke(THIN_STROKE);
+        for (int i = 1; i < AXIS_NUMBER; i++) {
+            // draw the other x-axis by subtracting initial y position from the pixel interval
+            int y = axisY - interval * i;
+            g2d.drawLine(axisX1, y, axisX2, y);
+        }
+
+    }
+
+    /**
+     * Draw labels on y-axis
+     *
+     * @param g2d      Graphics2D g2d object
+     * @param labels   from the bottom to the top, one per axis
+     * @param interval pixel interval of each label
+     * @param x        coordinate of x-axis
+     * @param y        coordinate of x-axis
+     */
+    static void drawYAxisLabels(Graphics2D g2d, String[] labels, int interval, int x, int y) {
+
+        g2d.setColor(DARK_GREY);
+        g2d.setFont(LABEL_FONT);
+
+        FontMetrics fontMetrics = g2d.getFontMetrics();
+
+        for (int i = 0; i < AXIS_NUMBER; i++) {
+
+            String label = labels[i];
+            // label width to right-align the label
+            int labelWidth = fontMetrics.stringWidth(label);
+
+            // calculate label position by x-axis position, axis offset, and font ascent
+            int tx = x - labelWidth - AXIS_OFFSET;
+            int ty = y + fontMetrics.getAscent() / 2 - i * interval - 1;
+            g2d.drawString(label, tx, ty);
+
+        }
+
+    }
+
+}
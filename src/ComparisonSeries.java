@@ -0,0 +1,229 @@
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * Close prices of several symbols aligned on one date axis
+ * the axis is the union of trading days of all symbols, built by a k-way merge join,
+ * a symbol missing a day carries its last close forward, days before its first row are NaN
+ *
+ * @author Xudong Wang (xwang199@sheffield.ac.uk)
+ * @version 1.0 18 October 2026
+ */
+
+
+class ComparisonSeries {
+
+    private final String[] symbols;
+
+    // number of days on the shared axis
+    private final int size;
+
+    // date of each day as days since 1970-01-01
+    private final int[] epochDays;
+
+    // aligned close prices, closes[symbol][day]
+    private final double[][] closes;
+
+    /**
+     * Class constructor
+     *
+     * @param symbols   ticker symbols
+     * @param size      number of days
+     * @param epochDays date column
+     * @param closes    aligned close columns
+     */
+    private ComparisonSeries(String[] symbols, int size, int[] epochDays, double[][] closes) {
+
+        this.symbols = symbols;
+        this.size = size;
+        this.epochDays = epochDays;
+        this.closes = closes;
+
+    }
+
+    /**
+     * Merge join series on their dates in O(n log k) for n rows of k series
+     * the first pass merges the dates into the axis, the second fills each close column of axis length,
+     * so memory is linear in rows and days rather than in rows times symbols
+     *
+     * @param symbols ticker symbols
+     * @param series  retrieved series of each symbol, in the same order
+     * @return ComparisonSeries object
+     */
+    static ComparisonSeries align(String[] symbols, List<PriceSeries> series) {
+
+        int k = series.size();
+
+        int[] epochDays = mergeDays(series);
+        double[][] closes = new double[k][epochDays.length];
+
+        for (int i = 0; i < k; i++) {
+
+            PriceSeries current = series.get(i);
+            int[] days = current.getEpochDays();
+            double[] close = current.getClose();
+            int offset = current.getOffset();
+
+            // every day of the series is on the axis, so one cursor walks both in step
+            int cursor = 0;
+            double last = Double.NaN;
+
+            for (int day = 0; day < epochDays.length; day++) {
+
+                while (cursor < current.size() && days[offset + cursor] == epochDays[day]) {
+                    last = close[offset + cursor++];
+                }
+
+                // last close carried forward, NaN before the first row
+                closes[i][day] = last;
+
+            }
+
+        }
+
+        return new ComparisonSeries(symbols, epochDays.length, epochDays, closes);
+
+    }
+
+    /**
+     * @return ticker symbols
+     */
+    String[] getSymbols() {
+        return symbols;
+    }
+
+    /**
+     * @return number of days
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return date column, valid up to size()
+     */
+    int[] getEpochDays() {
+        return epochDays;
+    }
+
+    /**
+     * @param index of symbol
+     * @return aligned close column, valid up to size()
+     */
+    double[] getClose(int index) {
+        return closes[index];
+    }
+
+    /**
+     * Merge the dates of all series into one ascending axis without duplicates
+     *
+     * @param series retrieved series
+     * @return union of dates
+     */
+    private static int[] mergeDays(List<PriceSeries> series) {
+
+        int k = series.size();
+
+        // next row of each series, relative to its offset
+        int[] cursors = new int[k];
+
+        // min-heap of series indices ordered by the date of their next row
+        int[] heap = new int[k];
+        int heapSize = 0;
+
+        int total = 0;
+
+        for (int i = 0; i < k; i++) {
+            total += series.get(i).size();
+            if (series.get(i).size() > 0) {
+                heap[heapSize] = i;
+                siftUp(heap, heapSize++, series, cursors);
+            }
+        }
+
+        // the union never has more days than rows in total
+        int[] epochDays = new int[total];
+        int size = 0;
+
+        while (heapSize > 0) {
+
+            int day = nextDay(series.get(heap[0]), cursors[heap[0]]);
+
+            // pop all series having a row on this day
+            while (heapSize > 0 && nextDay(series.get(heap[0]), cursors[heap[0]]) == day) {
+
+                int i = heap[0];
+
+                if (++cursors[i] < series.get(i).size()) {
+                    // the series moves to its next row
+                    siftDown(heap, 0, heapSize, series, cursors);
+                } else {
+                    // the series is exhausted
+                    heap[0] = heap[--heapSize];
+                    siftDown(heap, 0, heapSize, series, cursors);
+                }
+
+            }
+
+            epochDays[size++] = day;
+
+        }
+
+        return Arrays.copyOf(epochDays, size);
+
+    }
+
+    private static int nextDay(PriceSeries series, int cursor) {
+        return series.getEpochDays()[series.getOffset() + cursor];
+    }
+
+    private static void siftUp(int[] heap, int index, List<PriceSeries> series, int[] cursors) {
+
+        int item = heap[index];
+        int day = nextDay(series.get(item), cursors[item]);
+
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (nextDay(series.get(heap[parent]), cursors[heap[parent]]) <= day) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+
+        heap[index] = item;
+
+    }
+
+    private static void siftDown(int[] heap, int index, int heapSize, List<PriceSeries> series, int[] cursors) {
+
+        if (heapSize == 0) {
+            return;
+        }
+
+        int item = heap[index];
+        int day = nextDay(series.get(item), cursors[item]);
+
+        while (2 * index + 1 < heapSize) {
+
+            int child = 2 * index + 1;
+            if (child + 1 < heapSize
+                    && nextDay(series.get(heap[child + 1]), cursors[heap[child + 1]]) < nextDay(series.get(heap[child]), cursors[heap[child]])) {
+                child++;
+            }
+
+            if (day <= nextDay(series.get(heap[child]), cursors[heap[child]])) {
+                break;
+            }
+
+            heap[index] = heap[child];
+            index = child;
+
+        }
+
+        heap[index] = item;
+
+    }
+
+}
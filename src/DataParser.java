@@ -1,11 +1,18 @@
-import java.io.IOException;
+import javax.swing.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 
 /**
- * Utility class to parse data
+ * Parser turning retrieved series into charts
+ * an instance holds only immutable settings, every parse works on its own local state,
+ * so one parser can be shared by any number of threads
  *
  * @author Xudong Wang (xwang199@sheffield.ac.uk)
  * @version 1.0 11 January 2019
@@ -14,105 +21,271 @@ import java.util.stream.Collectors;
 
 class DataParser {
 
-    private static int dataSize;
-
     // frame title format template
-    private static final String FRAME_TITLE_TEMPLATE = "%s  %s/%s/%s  to  %s/%s/%s";
+    private static final String FRAME_TITLE_TEMPLATE = "%s  %s  to  %s";
+
+    // format date to '30/12/2018'
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/uuuu");
 
     private static final String[] CAPTION_ARRAY = {"OPEN", "CLOSE", "VOLUME", "HIGH & LOW"};
 
+    // comparison chart caption and symbol separator in its title
+    private static final String COMPARISON_CAPTION = "CLOSE % CHANGE";
+    private static final String COMPARISON_SEPARATOR = " vs ";
+
+    // live chart title and caption format template
+    private static final String STREAM_TITLE_TEMPLATE = "%s  LIVE";
+
+    // ticks kept by live chart, at least one pixel each on a default panel
+    private static final int STREAM_CAPACITY = 600;
+
+    // indicators drawn on the close chart, e.g. -Dstockviewer.indicators=SMA50,EMA20,RSI14
+    private static final String INDICATORS_PROPERTY = "stockviewer.indicators";
+    private static final String DEFAULT_INDICATORS = "SMA20,BB20";
+
+    // specifications of indicators drawn on the close chart like 'SMA20'
+    private final List<String> indicatorSpecifications;
+
+    /**
+     * Class constructor with indicators given by system property
+     */
+    DataParser() {
+        this(System.getProperty(INDICATORS_PROPERTY, DEFAULT_INDICATORS));
+    }
+
+    /**
+     * Class constructor
+     *
+     * @param indicators comma separated specifications like 'SMA20,BB20'
+     */
+    DataParser(String indicators) {
+
+        List<String> specifications = new ArrayList<>();
+
+        for (String specification : indicators.split(",")) {
+            if (!specification.trim().isEmpty()) {
+                specifications.add(specification.trim());
+            }
+        }
+
+        this.indicatorSpecifications = Collections.unmodifiableList(specifications);
+
+    }
+
     /**
      * Entrance to parse data
      *
-     * @param filePath of CSV File to parse
-     * @throws IOException if parsing failed
+     * @param symbol    ticker symbol
+     * @param startDate start date
+     * @param endDate   end date
+     * @param series    retrieved data
      */
-    static void parseData(String filePath) throws IOException {
+    void parseData(String symbol, LocalDate startDate, LocalDate endDate, PriceSeries series) {
 
-        // get split CSV file
-        List<List<String>> collections = Util.splitCSVFile(filePath);
+        List<LineChartPanel> panelList = getPanels(parse(series));
 
-        dataSize = collections.size();
+        // Start a JFrame on the event dispatch thread to display four line chart panels
+        String frameTitle = getFrameTitle(symbol, startDate, endDate);
+        SwingUtilities.invokeLater(() -> {
+            // two charts per row, oscillators add rows
+            PlotFrame plottingFrame = new PlotFrame(frameTitle, panelList, (panelList.size() + 1) / 2, 2);
+            plottingFrame.setVisible(true);
+        });
 
-        List<String> dateList = new ArrayList<>();
-        List<Double> openList = new ArrayList<>();
-        List<Double> highList = new ArrayList<>();
-        List<Double> lowList = new ArrayList<>();
-        List<Double> closeList = new ArrayList<>();
-        List<Double> volumeList = new ArrayList<>();
+    }
 
-        // retrieved data is descending order
-        // to display data in ascending order the loop is descending
-        for (int i = dataSize - 1; i >= 0; i--) {
+    /**
+     * Compute indicators of a series
+     * safe to call from many threads at the same time
+     *
+     * @param series retrieved data
+     * @return ParsedSeries object, not shared with any other call
+     */
+    ParsedSeries parse(PriceSeries series) {
 
-            // the format date retrieved is like '12/30/2018'
-            String[] date = collections.get(i).get(0).split("/");
-            dateList.add(date[1] + " " + Util.getShortMonth(date[0]) + " " + date[2]);
+        int size = series.size();
 
-            openList.add(getData(1, collections.get(i)));
-            highList.add(getData(2, collections.get(i)));
-            lowList.add(getData(3, collections.get(i)));
-            closeList.add(getData(4, collections.get(i)));
-            volumeList.add(getData(5, collections.get(i)));
+        // the series may be a slice of longer columns
+        int offset = series.getOffset();
 
+        double[] high = series.getHigh();
+        double[] low = series.getLow();
+        double[] close = series.getClose();
+        double[] volume = series.getVolume();
+
+        List<Indicator> indicators = getIndicators();
+        for (Indicator indicator : indicators) {
+            indicator.begin(size);
+        }
+
+        // one pass over the rows for every indicator,
+        // panels read the raw columns, scale them and label dates at render time
+        for (int row = offset; row < offset + size; row++) {
+            for (Indicator indicator : indicators) {
+                indicator.append(high[row], low[row], close[row], volume[row]);
+            }
         }
 
+        return new ParsedSeries(series, indicators);
+
+    }
+
+    /**
+     * Construct the four line chart panels of a parsed series, indicators are drawn on the close chart
+     * no window is opened, so it also runs headless
+     *
+     * @param parsed series with computed indicators
+     * @return panel list of open, close, volume, high & low and one panel per oscillator
+     */
+    List<LineChartPanel> getPanels(ParsedSeries parsed) {
+
+        PriceSeries series = parsed.getSeries();
+
         // construct panel list
         List<LineChartPanel> panelList = new ArrayList<>();
-        panelList.add(getLineChartPanel(CAPTION_ARRAY[0], true, dateList, openList));
-        panelList.add(getLineChartPanel(CAPTION_ARRAY[1], true, dateList, closeList));
-        panelList.add(getLineChartPanel(CAPTION_ARRAY[2], false, dateList, volumeList));
-        panelList.add(getLineChartPanel(CAPTION_ARRAY[3], dateList, highList, lowList));
+        panelList.add(getLineChartPanel(CAPTION_ARRAY[0], true, series, series.getOpen()));
+        panelList.add(getLineChartPanel(CAPTION_ARRAY[1], true, series, series.getClose()));
 
-        // Start a JFrame to display four line chart panels
-        String frameTitle = getFrameTitle(filePath);
-        PlotFrame plottingFrame = new PlotFrame(frameTitle, panelList);
-        plottingFrame.setVisible(true);
+        panelList.add(getLineChartPanel(CAPTION_ARRAY[2], false, series, series.getVolume()));
+        panelList.add(getLineChartPanel(CAPTION_ARRAY[3], series));
+
+        for (Indicator indicator : parsed.getIndicators()) {
+            if (indicator.isOscillator()) {
+                // not in price unit, drawn on its own y-axis after the four charts
+                panelList.add(getLineChartPanel(indicator, series));
+            } else {
+                panelList.get(1).addOverlay(indicator);
+            }
+        }
+
+        return panelList;
 
     }
 
     /**
-     * Get data from the string list by index given
-     * Exception is applied for missing value
+     * Entrance to compare data
+     * close prices of all symbols are aligned on one date axis and drawn in one chart
      *
-     * @param index      of data
-     * @param stringList split string
-     * @return double value of data
+     * @param symbols    ticker symbols
+     * @param startDate  start date
+     * @param endDate    end date
+     * @param seriesList retrieved data of each symbol, in the same order
      */
-    private static double getData(int index, List<String> stringList) {
+    void compareData(String[] symbols, LocalDate startDate, LocalDate endDate, List<PriceSeries> seriesList) {
+
+        ComparisonSeries comparison = ComparisonSeries.align(symbols, seriesList);
+
+        int size = comparison.size();
+        int[] epochDays = comparison.getEpochDays();
 
-        try {
-            return Double.parseDouble(stringList.get(index));
-        } catch (ArrayIndexOutOfBoundsException e) {
-            return 0;
+        double[][] lines = new double[symbols.length][];
+        for (int i = 0; i < symbols.length; i++) {
+            lines[i] = comparison.getClose(i);
         }
 
+        // detailed information like '30 Dec 2018  AAPL 157.74  MSFT 101.57', formatted on hover
+        LineChartPanel.DetailFormatter details = (builder, i) -> {
+
+            builder.append(EpochDays.getLabel(epochDays[i]));
+
+            for (int j = 0; j < symbols.length; j++) {
+                if (!Double.isNaN(lines[j][i])) {
+                    NumberFormatter.append(builder.append("  ").append(symbols[j]).append(' '), lines[j][i]);
+                }
+            }
+
+        };
+
+        LineChartPanel panel = new LineChartPanel(COMPARISON_CAPTION, symbols, lines, size, epochDays, details);
+
+        // Start a JFrame on the event dispatch thread to display the comparison chart
+        String frameTitle = getFrameTitle(String.join(COMPARISON_SEPARATOR, symbols), startDate, endDate);
+        SwingUtilities.invokeLater(() -> {
+            PlotFrame plottingFrame = new PlotFrame(frameTitle, Collections.singletonList(panel), 1, 1);
+            plottingFrame.setVisible(true);
+        });
+
     }
 
     /**
-     * Get frame tile by filepath of the CSV file
+     * Entrance to stream data
+     * ticks appended to the file are plotted until the window is closed
      *
-     * @param filePath of the CSV file
-     * @return JFrame title
+     * @param symbol   ticker symbol
+     * @param tickFile file of ticks like '1539871200000,101.25'
+     */
+    void streamData(String symbol, Path tickFile) {
+
+        String title = String.format(STREAM_TITLE_TEMPLATE, symbol);
+
+        // Start a JFrame on the event dispatch thread to display the live chart
+        SwingUtilities.invokeLater(() -> {
+
+            StreamingChartPanel panel = new StreamingChartPanel(title, new RingSeries(STREAM_CAPACITY));
+            PlotFrame plottingFrame = new PlotFrame(title, Collections.singletonList(panel), 1, 1);
+
+            // ticks are appended on the event dispatch thread, the only thread touching the series
+            TickFileTailer tailer = new TickFileTailer(
+                    tickFile,
+                    (time, price) -> SwingUtilities.invokeLater(() -> panel.append(time, price))
+            );
+
+            plottingFrame.addWindowListener(new WindowAdapter() {
+                @Override
+                public void windowClosed(WindowEvent e) {
+                    // stop following the file with the window
+                    tailer.close();
+                }
+            });
+
+            plottingFrame.setVisible(true);
+            tailer.start();
+
+        });
+
+    }
+
+    /**
+     * Create configured indicators, computed later in the pass over the rows
+     * indicators keep rolling state, so every parse gets its own instances
+     *
+     * @return list of indicators drawn on the close chart
      */
-    private static String getFrameTitle(String filePath) {
+    private List<Indicator> getIndicators() {
+
+        List<Indicator> indicators = new ArrayList<>(indicatorSpecifications.size());
+
+        for (String specification : indicatorSpecifications) {
 
-        // split prefix of path and file name
-        String[] pathArray = filePath.split("/");
+            try {
+                indicators.add(Indicator.parse(specification));
+            } catch (IllegalArgumentException e) {
+                // skip unknown indicator and keep the others
+                e.printStackTrace();
+            }
+
+        }
 
-        // split suffix of filename and file extension
-        pathArray = pathArray[pathArray.length - 1].split(".csv")[0].split("_");
+        return indicators;
+
+    }
+
+    /**
+     * Get frame tile by ticker symbol and date range
+     *
+     * @param symbol    ticker symbol
+     * @param startDate start date
+     * @param endDate   end date
+     * @return JFrame title
+     */
+    private static String getFrameTitle(String symbol, LocalDate startDate, LocalDate endDate) {
 
         // return formatted title string
         return String.format(
                 FRAME_TITLE_TEMPLATE,
-                pathArray[0],
-                pathArray[1],
-                pathArray[2],
-                pathArray[3],
-                pathArray[4],
-                pathArray[5],
-                pathArray[6]
+                symbol,
+                startDate.format(DATE_FORMATTER),
+                endDate.format(DATE_FORMATTER)
         );
 
     }
@@ -122,162 +295,126 @@ class DataParser {
      *
      * @param caption of line chart
      * @param isPrice data is price or not
-     * @param date    the list date retrieved
-     * @param data    data retrieved
+     * @param series  retrieved data
+     * @param data    column of the series to draw
      * @return LineChartPanel object
      */
     private static LineChartPanel getLineChartPanel(
             String caption,
             boolean isPrice,
-            List<String> date,
-            List<Double> data) {
+            PriceSeries series,
+            double[] data) {
 
-        // get range of data
-        Range range = getRange(data);
-        // get scaled data by range
-        List<Double> scaled = getScaledData(range, data);
         // get detailed information by date and data retrieved
-        List<String> details = getDetails(isPrice, date, data);
+        LineChartPanel.DetailFormatter details = getDetails(isPrice, series.getEpochDays(), data, series.getOffset());
 
-        return new LineChartPanel(caption, scaled, range, details);
+        // the panel scales data by the range of the visible window
+        return new LineChartPanel(caption, data, series.getOffset(), series.size(), series.getEpochDays(), details);
 
     }
 
 
     /**
-     * Get LineChartPanel object
+     * Get LineChartPanel object of high and low data
      *
      * @param caption of line chart
-     * @param date    the list date retrieved
-     * @param high    high data
-     * @param low     low data
+     * @param series  retrieved data
      * @return LineChartPanel object
      */
-    private static LineChartPanel getLineChartPanel(
-            String caption,
-            List<String> date,
-            List<Double> high,
-            List<Double> low) {
-
-        // get range of high and low data
-        Range range = getRange(high, low);
-        // get scaled data by range
-        List<Double> highScaled = getScaledData(range, high);
-        List<Double> lowScaled = getScaledData(range, low);
-        // get detailed information by date, high, and low data.
-        List<String> details = getDetails(date, high, low);
+    private static LineChartPanel getLineChartPanel(String caption, PriceSeries series) {
 
-        return new LineChartPanel(caption, highScaled, lowScaled, range, details);
+        double[] high = series.getHigh();
+        double[] low = series.getLow();
+        int offset = series.getOffset();
 
-    }
+        // get detailed information by date, high, and low data.
+        LineChartPanel.DetailFormatter details = getDetails(series.getEpochDays(), high, low, offset);
 
-    /**
-     * Get range of data
-     *
-     * @param data given
-     * @return Range object
-     */
-    private static Range getRange(List<Double> data) {
-        return getDataRange(data, data);
-    }
+        // the panel scales data by the range of the visible window
+        return new LineChartPanel(caption, high, low, offset, series.size(), series.getEpochDays(), details);
 
-    /**
-     * Get range of high and low
-     *
-     * @param high data
-     * @param low  data
-     * @return Range object
-     */
-    private static Range getRange(List<Double> high, List<Double> low) {
-        return getDataRange(high, low);
     }
 
     /**
-     * Get data range by high data and low data
+     * Get LineChartPanel object of an oscillator
      *
-     * @param high data
-     * @param low  data
-     * @return Range object
+     * @param oscillator computed indicator like RSI or MACD
+     * @param series     retrieved data the oscillator was computed from
+     * @return LineChartPanel object
      */
-    private static Range getDataRange(List<Double> high, List<Double> low) {
-
-        // get max and min of high and low separately
-        double max = high.stream().max(Double::compareTo).orElse(0D);
-        double min = low.stream().min(Double::compareTo).orElse(0D);
+    private static LineChartPanel getLineChartPanel(Indicator oscillator, PriceSeries series) {
 
-        // 10% space for max and min for graph beautifying
-        // round range to nearest multiple of 5 to avoid infinite decimal in y-axis labels
-        double maxRange = Math.ceil(max * 1.1 / 5) * 5;
-        double minRange = Math.floor(min * 0.9 / 5) * 5;
+        // get detailed information by date and every line of the oscillator
+        LineChartPanel.DetailFormatter details = getDetails(series.getEpochDays(), oscillator, series.getOffset());
 
-        return new Range(maxRange, minRange);
+        // the panel scales all lines by the range of the visible window
+        return new LineChartPanel(oscillator, series.getOffset(), series.size(), series.getEpochDays(), details);
 
     }
 
     /**
-     * Get scaled data by range
-     * This is also called normalisation in other subject
+     * Get formatter of detailed information for each data
      *
-     * @param range given
-     * @param data  given
-     * @return scaled data
+     * @param isPrice   boolean value to decide the unit of data
+     * @param epochDays date of each data
+     * @param data      given
+     * @param offset    index of the first data in data and epochDays
+     * @return formatter like '157.74 USD  30 Dec 2018'
      */
-    private static List<Double> getScaledData(Range range, List<Double> data) {
+    private static LineChartPanel.DetailFormatter getDetails(boolean isPrice, int[] epochDays, double[] data, int offset) {
 
-        // d_new = (max - d_old) / (max - min)
-        return data.stream().map(d -> (range.getMax() - d) / range.getRange()).collect(Collectors.toList());
+        // add 'USD' unit for price, 'Shares' unit for volume
+        String unit = isPrice ? " USD  " : " Shares  ";
+
+        // date label is taken from the shared cache
+        return (builder, i) -> NumberFormatter.append(builder, data[offset + i])
+                .append(unit)
+                .append(EpochDays.getLabel(epochDays[offset + i]));
 
     }
 
     /**
-     * Get detailed information for each data
+     * Get formatter of detailed information for each data
      *
-     * @param isPrice boolean value to decide the unit of data
-     * @param date    of each data
-     * @param data    given
-     * @return list of detailed information
+     * @param epochDays date of each data
+     * @param high      data
+     * @param low       data
+     * @param offset    index of the first data in high, low and epochDays
+     * @return formatter like '158.52 USD  154.55 USD  30 Dec 2018'
      */
-    private static List<String> getDetails(boolean isPrice, List<String> date, List<Double> data) {
-
-        List<String> details = new ArrayList<>();
-
-        for (int i = 0; i < dataSize; i++) {
-            // format data
-            String formattedData = Util.toFormattedNumberString(data.get(i));
-            if (isPrice) {
-                // add 'USD' unit for price
-                details.add(formattedData + " USD  " + date.get(i));
-            } else {
-                // add 'Shares' unit for volume
-                details.add(formattedData + " Shares  " + date.get(i));
-            }
-        }
+    private static LineChartPanel.DetailFormatter getDetails(int[] epochDays, double[] high, double[] low, int offset) {
 
-        return details;
+        return (builder, i) -> {
+            // format high and low data, then stitch text
+            NumberFormatter.append(builder, high[offset + i]).append(" USD  ");
+            NumberFormatter.append(builder, low[offset + i]).append(" USD  ").append(EpochDays.getLabel(epochDays[offset + i]));
+        };
 
     }
 
     /**
-     * Get detailed information for each data
+     * Get formatter of detailed information for each bar of an oscillator
      *
-     * @param date of each data
-     * @param high data
-     * @param low  data
-     * @return list of detailed information
+     * @param epochDays  date of each data
+     * @param oscillator computed indicator, its bar i is data i
+     * @param offset     index of the first data in epochDays
+     * @return formatter like 'MACD 12 26 9 1.25  Signal 0.98  Histogram 0.27  30 Dec 2018'
      */
-    private static List<String> getDetails(List<String> date, List<Double> high, List<Double> low) {
+    private static LineChartPanel.DetailFormatter getDetails(int[] epochDays, Indicator oscillator, int offset) {
 
-        List<String> details = new ArrayList<>();
+        return (builder, i) -> {
 
-        for (int i = 0; i < dataSize; i++) {
-            // format high and low data
-            String highPrice = Util.toFormattedNumberString(high.get(i));
-            String lowPrice = Util.toFormattedNumberString(low.get(i));
-            // stitch text
-            details.add(highPrice + " USD  " + lowPrice + " USD  " + date.get(i));
-        }
+            for (int line = 0; line < oscillator.getLineCount(); line++) {
+                double value = oscillator.getLine(line)[i];
+                if (!Double.isNaN(value)) {
+                    // warm-up bars have no value
+                    NumberFormatter.append(builder.append(oscillator.getLineName(line)).append(' '), value).append("  ");
+                }
+            }
+
+            builder.append(EpochDays.getLabel(epochDays[offset + i]));
 
-        return details;
+        };
 
     }
 }
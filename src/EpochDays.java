@@ -0,0 +1,133 @@
+/**
+ * Arithmetic conversion between calendar dates and epoch days, with a shared cache of date labels
+ * dates are converted by the civil calendar algorithm without creating LocalDate objects,
+ * labels like '30 Dec 2018' are built on first use and kept in a small direct-mapped cache
+ *
+ * @author Xudong Wang (xwang199@sheffield.ac.uk)
+ * @version 1.0 18 October 2026
+ */
+
+
+class EpochDays {
+
+    // days from 0000-03-01 to 1970-01-01 and days of a 400-year era
+    private static final int DAYS_0000_TO_1970 = 719468;
+    private static final int DAYS_PER_ERA = 146097;
+
+    // number of cached labels, a power of two, about 11 years of days
+    private static final int CACHE_SIZE = 4096;
+
+    // slot of a day is epochDay & (CACHE_SIZE - 1), entries are immutable so threads never see half a label
+    private static final Label[] CACHE = new Label[CACHE_SIZE];
+
+    /**
+     * Check the date exists
+     *
+     * @param year  e.g. 2018
+     * @param month from 1 to 12
+     * @param day   of month
+     * @return boolean true for valid date
+     */
+    static boolean isValid(int year, int month, int day) {
+        return month >= 1 && month <= 12 && day >= 1 && day <= lengthOfMonth(year, month);
+    }
+
+    /**
+     * Convert date to epoch day
+     *
+     * @param year  e.g. 2018
+     * @param month from 1 to 12
+     * @param day   of month
+     * @return days since 1970-01-01
+     */
+    static int of(int year, int month, int day) {
+
+        // years start in March so the leap day is the last day of a year
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+
+        return era * DAYS_PER_ERA + dayOfEra - DAYS_0000_TO_1970;
+
+    }
+
+    /**
+     * Get date label of an epoch day
+     *
+     * @param epochDay days since 1970-01-01
+     * @return label like '30 Dec 2018'
+     */
+    static String getLabel(int epochDay) {
+
+        int slot = epochDay & (CACHE_SIZE - 1);
+        Label label = CACHE[slot];
+
+        if (label == null || label.epochDay != epochDay) {
+            // build on first use, replaces whatever day was in the slot
+            label = new Label(epochDay, appendLabel(new StringBuilder(11), epochDay).toString());
+            CACHE[slot] = label;
+        }
+
+        return label.text;
+
+    }
+
+    /**
+     * Append date label of an epoch day
+     *
+     * @param builder  to append to
+     * @param epochDay days since 1970-01-01
+     * @return the builder
+     */
+    static StringBuilder appendLabel(StringBuilder builder, int epochDay) {
+
+        int days = epochDay + DAYS_0000_TO_1970;
+        int era = Math.floorDiv(days, DAYS_PER_ERA);
+        int dayOfEra = days - era * DAYS_PER_ERA;
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+
+        int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        int year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        return builder.append(day).append(' ').append(Util.getShortMonth(month)).append(' ').append(year);
+
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+
+        switch (month) {
+            case 2:
+                boolean isLeap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+                return isLeap ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+
+    }
+
+    /**
+     * Cached label of one day
+     */
+    private static class Label {
+
+        private final int epochDay;
+        private final String text;
+
+        Label(int epochDay, String text) {
+            this.epochDay = epochDay;
+            this.text = text;
+        }
+
+    }
+
+}
@@ -0,0 +1,247 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.zip.GZIPInputStream;
+
+
+/**
+ * Shared HTTP client for all downloads
+ * connections are pooled and kept alive between requests, HTTP/2 is used when the server supports it
+ * and bodies are requested gzip-compressed,
+ * the number of transfers in progress is capped so batch retrievals do not flood the server
+ *
+ * @author Xudong Wang (xwang199@sheffield.ac.uk)
+ * @version 1.0 18 October 2026
+ */
+
+
+class HttpDownloader {
+
+    static final int HTTP_OK = 200;
+    static final int HTTP_NOT_MODIFIED = 304;
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    // maximum transfers in progress, e.g. -Dstockviewer.connections=16
+    private static final int MAX_CONNECTIONS = Math.max(1, Integer.getInteger("stockviewer.connections", 8));
+    private static final Semaphore CONNECTIONS = new Semaphore(MAX_CONNECTIONS, true);
+
+    // one client for the whole application, it owns the connection pool
+    private static final HttpClient HTTP_CLIENT = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .connectTimeout(CONNECT_TIMEOUT)
+            .build();
+
+    /**
+     * Retrieve data from given web address and save it to the given filepath
+     * a single request is made, the body is streamed to disk
+     *
+     * @param filePath   to save the data
+     * @param webAddress to retrieve data from
+     * @return download result, false if the response is not HTTP 200
+     * @throws IOException if web address or filepath is invalid
+     */
+    static boolean download(String filePath, String webAddress) throws IOException {
+
+        return downloadIfModified(filePath, webAddress, null, null).getStatusCode() == HTTP_OK;
+
+    }
+
+    /**
+     * Retrieve data only if it changed since the given validators were received
+     * the file is left untouched when the server answers 304 Not Modified
+     *
+     * @param filePath     to save the data
+     * @param webAddress   to retrieve data from
+     * @param eTag         entity tag of the copy held, null if unknown
+     * @param lastModified Last-Modified date of the copy held, null if unknown
+     * @return response status and the validators of the new copy
+     * @throws IOException if web address or filepath is invalid
+     */
+    static Result downloadIfModified(String filePath, String webAddress, String eTag, String lastModified) throws IOException {
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(webAddress))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept-Encoding", "gzip")
+                .GET();
+
+        if (eTag != null && !eTag.isEmpty()) {
+            builder.header("If-None-Match", eTag);
+        }
+        if (lastModified != null && !lastModified.isEmpty()) {
+            builder.header("If-Modified-Since", lastModified);
+        }
+
+        HttpRequest request = builder.build();
+
+        try {
+            CONNECTIONS.acquire();
+        } catch (InterruptedException e) {
+            // keep interrupted status for the caller
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Download interrupted: " + request.uri());
+        }
+
+        try {
+            return exchange(request, filePath);
+        } finally {
+            // the permit is held until the body is on disk
+            CONNECTIONS.release();
+        }
+
+    }
+
+    /**
+     * @return maximum number of transfers in progress
+     */
+    static int getMaxConnections() {
+        return MAX_CONNECTIONS;
+    }
+
+    /**
+     * Send request and save the body if the response is HTTP 200
+     *
+     * @param request HTTP request
+     * @return response status and the validators of the new copy
+     * @throws IOException if the request failed or filepath is invalid
+     */
+    private static Result exchange(HttpRequest request, String filePath) throws IOException {
+
+        HttpResponse<InputStream> response = send(request);
+
+        Result result = new Result(
+                response.statusCode(),
+                response.headers().firstValue("ETag").orElse(""),
+                response.headers().firstValue("Last-Modified").orElse("")
+        );
+
+        try (InputStream body = decode(response)) {
+
+            if (response.statusCode() != HTTP_OK) {
+                // URL invalid or not modified, the body is closed to release the connection
+                return result;
+            }
+
+            // write to a temporary file first, a failed transfer never leaves a truncated file behind
+            Path path = Paths.get(filePath);
+            Path temporaryPath = Paths.get(filePath + ".part");
+            try {
+                Files.copy(body, temporaryPath, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException | RuntimeException e) {
+                // connection reset, timeout or disk full, nothing partial is left in the directory
+                try {
+                    Files.deleteIfExists(temporaryPath);
+                } catch (IOException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+                throw e;
+            }
+
+            return result;
+
+        }
+
+    }
+
+    /**
+     * Send request through the shared client
+     *
+     * @param request HTTP request
+     * @return response with streaming body
+     * @throws IOException if the request failed or was interrupted
+     */
+    private static HttpResponse<InputStream> send(HttpRequest request) throws IOException {
+
+        try {
+            return HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        } catch (InterruptedException e) {
+            // keep interrupted status for the caller
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Download interrupted: " + request.uri());
+        }
+
+    }
+
+    /**
+     * Wrap response body with a decompressing stream if the server compressed it
+     *
+     * @param response HTTP response
+     * @return decoded body stream
+     * @throws IOException if the gzip header is invalid
+     */
+    private static InputStream decode(HttpResponse<InputStream> response) throws IOException {
+
+        String encoding = response.headers().firstValue("Content-Encoding").orElse("");
+
+        if (response.statusCode() == HTTP_OK && encoding.equalsIgnoreCase("gzip")) {
+            try {
+                return new GZIPInputStream(response.body());
+            } catch (IOException e) {
+                response.body().close();
+                throw e;
+            }
+        }
+
+        return response.body();
+
+    }
+
+    /**
+     * Status and cache validators of a response
+     */
+    static class Result {
+
+        private final int statusCode;
+        private final String eTag;
+        private final String lastModified;
+
+        /**
+         * Class constructor
+         *
+         * @param statusCode   HTTP status code
+         * @param eTag         ETag header, empty if absent
+         * @param lastModified Last-Modified header, empty if absent
+         */
+        Result(int statusCode, String eTag, String lastModified) {
+            this.statusCode = statusCode;
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+        }
+
+        /**
+         * @return HTTP status code
+         */
+        int getStatusCode() {
+            return statusCode;
+        }
+
+        /**
+         * @return ETag header, empty if absent
+         */
+        String getETag() {
+            return eTag;
+        }
+
+        /**
+         * @return Last-Modified header, empty if absent
+         */
+        String getLastModified() {
+            return lastModified;
+        }
+
+    }
+
+}
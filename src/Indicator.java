@@ -0,0 +1,619 @@
+import java.util.Arrays;
+
+
+/**
+ * Technical indicator computed incrementally over primitive columns
+ * each bar updates a constant-size rolling state and writes one value per output line,
+ * a whole series is computed in a single O(n) pass and later bars are appended in O(1),
+ * values of the warm-up period are NaN
+ *
+ * @author Xudong Wang (xwang199@sheffield.ac.uk)
+ * @version 1.0 18 October 2026
+ */
+
+
+abstract class Indicator {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final String name;
+
+    // output columns, lines[line][bar]
+    private double[][] lines;
+    private int size = 0;
+
+    /**
+     * Class constructor
+     *
+     * @param name      to display like 'SMA 20'
+     * @param lineCount number of output lines
+     */
+    Indicator(String name, int lineCount) {
+
+        this.name = name;
+        this.lines = new double[lineCount][INITIAL_CAPACITY];
+
+    }
+
+    /**
+     * Create indicator by specification like 'SMA20', 'EMA50', 'BB20', 'RSI14', 'MACD' or 'VWAP'
+     *
+     * @param specification name followed by period, case insensitive
+     * @return Indicator object
+     * @throws IllegalArgumentException if the specification is unknown
+     */
+    static Indicator parse(String specification) {
+
+        String text = specification.trim().toUpperCase();
+
+        // split name and period like 'SMA' and '20'
+        int digit = 0;
+        while (digit < text.length() && !Character.isDigit(text.charAt(digit))) {
+            digit++;
+        }
+
+        String type = text.substring(0, digit);
+        int period = digit < text.length() ? Integer.parseInt(text.substring(digit)) : 0;
+
+        switch (type) {
+            case "SMA":
+                return sma(period > 0 ? period : 20);
+            case "EMA":
+                return ema(period > 0 ? period : 20);
+            case "BB":
+                return bollinger(period > 0 ? period : 20, 2);
+            case "RSI":
+                return rsi(period > 0 ? period : 14);
+            case "MACD":
+                return macd(12, 26, 9);
+            case "VWAP":
+                return vwap();
+            default:
+                throw new IllegalArgumentException("Unknown indicator: " + specification);
+        }
+
+    }
+
+    /**
+     * @param period number of bars
+     * @return simple moving average of close
+     */
+    static Indicator sma(int period) {
+        return new SimpleMovingAverage(period);
+    }
+
+    /**
+     * @param period number of bars
+     * @return exponential moving average of close
+     */
+    static Indicator ema(int period) {
+        return new ExponentialMovingAverage(period);
+    }
+
+    /**
+     * @param period     number of bars
+     * @param deviations width of bands in standard deviations
+     * @return Bollinger bands of close, lines are middle, upper and lower
+     */
+    static Indicator bollinger(int period, double deviations) {
+        return new BollingerBands(period, deviations);
+    }
+
+    /**
+     * @param period number of bars
+     * @return relative strength index of close with Wilder's smoothing
+     */
+    static Indicator rsi(int period) {
+        return new RelativeStrengthIndex(period);
+    }
+
+    /**
+     * @param fast   period of fast average
+     * @param slow   period of slow average
+     * @param signal period of signal average
+     * @return moving average convergence divergence, lines are MACD, signal and histogram
+     */
+    static Indicator macd(int fast, int slow, int signal) {
+        return new MovingAverageConvergenceDivergence(fast, slow, signal);
+    }
+
+    /**
+     * @return volume weighted average of typical price since the first bar
+     */
+    static Indicator vwap() {
+        return new VolumeWeightedAveragePrice();
+    }
+
+    /**
+     * Compute the whole series in one pass, previous values are discarded
+     *
+     * @param series price series or a slice of it
+     */
+    final void compute(PriceSeries series) {
+
+        begin(series.size());
+
+        int offset = series.getOffset();
+        double[] high = series.getHigh();
+        double[] low = series.getLow();
+        double[] close = series.getClose();
+        double[] volume = series.getVolume();
+
+        for (int i = offset; i < offset + series.size(); i++) {
+            append(high[i], low[i], close[i], volume[i]);
+        }
+
+    }
+
+    /**
+     * Discard previous values before bars of a new series are appended
+     * lets a caller feed several indicators in its own pass over the rows
+     *
+     * @param capacity expected number of bars
+     */
+    final void begin(int capacity) {
+
+        reset();
+        size = 0;
+        ensureCapacity(capacity);
+
+    }
+
+    /**
+     * Append one bar and compute its values from the rolling state
+     *
+     * @param high   price
+     * @param low    price
+     * @param close  price
+     * @param volume of bar
+     */
+    final void append(double high, double low, double close, double volume) {
+
+        if (size == lines[0].length) {
+            // double the capacity when columns are full
+            ensureCapacity(size * 2);
+        }
+
+        update(high, low, close, volume, size);
+        size++;
+
+    }
+
+    /**
+     * @return name to display
+     */
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Oscillators like RSI and MACD are not in price unit and need an axis of their own
+     *
+     * @return boolean true if values are not comparable with prices
+     */
+    boolean isOscillator() {
+        return false;
+    }
+
+    /**
+     * @param line index of output line
+     * @return name of the line to display
+     */
+    String getLineName(int line) {
+        return name;
+    }
+
+    /**
+     * @return number of output lines
+     */
+    int getLineCount() {
+        return lines.length;
+    }
+
+    /**
+     * @param line index of output line
+     * @return output column, shared and valid up to size()
+     */
+    double[] getLine(int line) {
+        return lines[line];
+    }
+
+    /**
+     * @return number of bars computed
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Update rolling state with one bar and write its output values
+     *
+     * @param high   price
+     * @param low    price
+     * @param close  price
+     * @param volume of bar
+     * @param index  of bar in output columns
+     */
+    abstract void update(double high, double low, double close, double volume, int index);
+
+    /**
+     * Clear rolling state
+     */
+    abstract void reset();
+
+    /**
+     * Write one output value
+     *
+     * @param line  index of output line
+     * @param index of bar
+     * @param value to write
+     */
+    final void set(int line, int index, double value) {
+        lines[line][index] = value;
+    }
+
+    private void ensureCapacity(int capacity) {
+
+        if (capacity <= lines[0].length) {
+            return;
+        }
+
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = Arrays.copyOf(lines[i], capacity);
+        }
+
+    }
+
+    /**
+     * Last values in a fixed-size window with running mean and sum of squared deviations
+     * updated by Welford's method for a sliding window, so high prices do not cancel out the variance,
+     * both are recomputed from the window once per period so rounding cannot drift over long series
+     */
+    private static class RollingWindow {
+
+        private final double[] values;
+        private int next = 0;
+        private int count = 0;
+        private double mean = 0;
+
+        // sum of squared deviations from the mean
+        private double m2 = 0;
+
+        RollingWindow(int period) {
+            this.values = new double[Math.max(period, 1)];
+        }
+
+        void add(double value) {
+
+            double oldMean = mean;
+
+            if (count == values.length) {
+                // replace the oldest value
+                double oldest = values[next];
+                mean += (value - oldest) / count;
+                m2 += (value - oldest) * (value - mean + oldest - oldMean);
+            } else {
+                count++;
+                mean += (value - oldMean) / count;
+                m2 += (value - oldMean) * (value - mean);
+            }
+
+            values[next] = value;
+            next = (next + 1) % values.length;
+
+            if (next == 0 && count == values.length) {
+                // once per period, amortised O(1)
+                recompute();
+            }
+
+        }
+
+        boolean isFull() {
+            return count == values.length;
+        }
+
+        double mean() {
+            return mean;
+        }
+
+        double standardDeviation() {
+            // population variance, m2 is only below zero by rounding when all values are equal
+            return Math.sqrt(Math.max(0, m2) / count);
+        }
+
+        void clear() {
+            next = 0;
+            count = 0;
+            mean = 0;
+            m2 = 0;
+        }
+
+        /**
+         * Replace running mean and sum of squared deviations by a two-pass computation
+         */
+        private void recompute() {
+
+            double sum = 0;
+            for (double value : values) {
+                sum += value;
+            }
+            mean = sum / count;
+
+            double squares = 0;
+            for (double value : values) {
+                squares += (value - mean) * (value - mean);
+            }
+            m2 = squares;
+
+        }
+
+    }
+
+    /**
+     * Exponential average seeded by the simple average of the first period values
+     */
+    private static class ExponentialAverage {
+
+        private final int period;
+        private final double alpha;
+        private int count = 0;
+        private double value = 0;
+
+        ExponentialAverage(int period) {
+            this.period = Math.max(period, 1);
+            this.alpha = 2.0 / (this.period + 1);
+        }
+
+        /**
+         * @param input next value
+         * @return average, NaN during warm-up
+         */
+        double add(double input) {
+
+            if (count < period) {
+                // accumulate the seed
+                value += input / period;
+                count++;
+                return count == period ? value : Double.NaN;
+            }
+
+            value += alpha * (input - value);
+            return value;
+
+        }
+
+        void clear() {
+            count = 0;
+            value = 0;
+        }
+
+    }
+
+    private static class SimpleMovingAverage extends Indicator {
+
+        private final RollingWindow window;
+
+        SimpleMovingAverage(int period) {
+            super("SMA " + period, 1);
+            this.window = new RollingWindow(period);
+        }
+
+        @Override
+        void update(double high, double low, double close, double volume, int index) {
+            window.add(close);
+            set(0, index, window.isFull() ? window.mean() : Double.NaN);
+        }
+
+        @Override
+        void reset() {
+            window.clear();
+        }
+
+    }
+
+    private static class ExponentialMovingAverage extends Indicator {
+
+        private final ExponentialAverage average;
+
+        ExponentialMovingAverage(int period) {
+            super("EMA " + period, 1);
+            this.average = new ExponentialAverage(period);
+        }
+
+        @Override
+        void update(double high, double low, double close, double volume, int index) {
+            set(0, index, average.add(close));
+        }
+
+        @Override
+        void reset() {
+            average.clear();
+        }
+
+    }
+
+    private static class BollingerBands extends Indicator {
+
+        private final RollingWindow window;
+        private final double deviations;
+
+        BollingerBands(int period, double deviations) {
+            super("BB " + period, 3);
+            this.window = new RollingWindow(period);
+            this.deviations = deviations;
+        }
+
+        @Override
+        void update(double high, double low, double close, double volume, int index) {
+
+            window.add(close);
+
+            if (!window.isFull()) {
+                set(0, index, Double.NaN);
+                set(1, index, Double.NaN);
+                set(2, index, Double.NaN);
+                return;
+            }
+
+            double middle = window.mean();
+            double width = deviations * window.standardDeviation();
+
+            set(0, index, middle);
+            set(1, index, middle + width);
+            set(2, index, middle - width);
+
+        }
+
+        @Override
+        void reset() {
+            window.clear();
+        }
+
+    }
+
+    private static class RelativeStrengthIndex extends Indicator {
+
+        private final int period;
+        private int count = 0;
+        private double previousClose;
+        private double averageGain = 0;
+        private double averageLoss = 0;
+
+        RelativeStrengthIndex(int period) {
+            super("RSI " + period, 1);
+            this.period = Math.max(period, 1);
+        }
+
+        @Override
+        void update(double high, double low, double close, double volume, int index) {
+
+            if (count++ == 0) {
+                // no change for the first bar
+                previousClose = close;
+                set(0, index, Double.NaN);
+                return;
+            }
+
+            double change = close - previousClose;
+            double gain = Math.max(change, 0);
+            double loss = Math.max(-change, 0);
+            previousClose = close;
+
+            // number of changes seen so far
+            int changes = count - 1;
+
+            if (changes <= period) {
+                // simple average of the first period changes
+                averageGain += gain / period;
+                averageLoss += loss / period;
+            } else {
+                // Wilder's smoothing
+                averageGain = (averageGain * (period - 1) + gain) / period;
+                averageLoss = (averageLoss * (period - 1) + loss) / period;
+            }
+
+            set(0, index, changes >= period ? getValue() : Double.NaN);
+
+        }
+
+        private double getValue() {
+            return averageLoss == 0 ? 100 : 100 - 100 / (1 + averageGain / averageLoss);
+        }
+
+        @Override
+        boolean isOscillator() {
+            return true;
+        }
+
+        @Override
+        void reset() {
+            count = 0;
+            averageGain = 0;
+            averageLoss = 0;
+        }
+
+    }
+
+    private static class MovingAverageConvergenceDivergence extends Indicator {
+
+        private final ExponentialAverage fastAverage;
+        private final ExponentialAverage slowAverage;
+        private final ExponentialAverage signalAverage;
+
+        MovingAverageConvergenceDivergence(int fast, int slow, int signal) {
+            super("MACD " + fast + " " + slow + " " + signal, 3);
+            this.fastAverage = new ExponentialAverage(fast);
+            this.slowAverage = new ExponentialAverage(slow);
+            this.signalAverage = new ExponentialAverage(signal);
+        }
+
+        @Override
+        void update(double high, double low, double close, double volume, int index) {
+
+            double fast = fastAverage.add(close);
+            double slow = slowAverage.add(close);
+
+            if (Double.isNaN(fast) || Double.isNaN(slow)) {
+                set(0, index, Double.NaN);
+                set(1, index, Double.NaN);
+                set(2, index, Double.NaN);
+                return;
+            }
+
+            double macd = fast - slow;
+            double signal = signalAverage.add(macd);
+
+            set(0, index, macd);
+            set(1, index, signal);
+            set(2, index, macd - signal);
+
+        }
+
+        @Override
+        boolean isOscillator() {
+            return true;
+        }
+
+        @Override
+        String getLineName(int line) {
+            return line == 0 ? getName() : line == 1 ? "Signal" : "Histogram";
+        }
+
+        @Override
+        void reset() {
+            fastAverage.clear();
+            slowAverage.clear();
+            signalAverage.clear();
+        }
+
+    }
+
+    private static class VolumeWeightedAveragePrice extends Indicator {
+
+        private double priceVolumeSum = 0;
+        private double volumeSum = 0;
+
+        VolumeWeightedAveragePrice() {
+            super("VWAP", 1);
+        }
+
+        @Override
+        void update(double high, double low, double close, double volume, int index) {
+
+            // typical price of the bar
+            priceVolumeSum += (high + low + close) / 3 * volume;
+            volumeSum += volume;
+
+            set(0, index, volumeSum == 0 ? Double.NaN : priceVolumeSum / volumeSum);
+
+        }
+
+        @Override
+        void reset() {
+            priceVolumeSum = 0;
+            volumeSum = 0;
+        }
+
+    }
+
+}
@@ -1,144 +1,451 @@
-import javax.swing.*;
 import java.awt.*;
 import java.awt.event.MouseEvent;
+import java.awt.event.MouseListener;
 import java.awt.event.MouseMotionListener;
+import java.awt.event.MouseWheelEvent;
+import java.awt.event.MouseWheelListener;
 import java.awt.geom.Ellipse2D;
 import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 
 /**
  * LineChartPanel class
  * draw line chart by given data.
  * Code traces the mouse motion to display detail information.
+ * Mouse wheel zooms and dragging pans the visible window,
+ * its range and decimated lines are answered by min/max segment trees.
+ * Technical indicators are drawn as thin overlay lines.
+ * In comparison mode every symbol is a line in percent change from its first visible day.
  *
  * @author Xudong Wang (xwang199@sheffield.ac.uk)
  * @version 1.0 10 January 2019
  */
 
 
-class LineChartPanel extends JPanel implements MouseMotionListener {
+class LineChartPanel extends ChartPanel implements MouseListener, MouseMotionListener, MouseWheelListener {
+
+    private static final long serialVersionUID = 1L;
 
     // member variables
     private String caption;
 
     private int dataSize;
-    private List<String> data;
 
+    // detailed information is formatted only for hovered data points
+    private DetailFormatter details;
+    private final StringBuilder detailBuilder = new StringBuilder();
+
+    // recently shown detailed information, least recently used evicted first
+    private final Map<Integer, String> detailCache = new LinkedHashMap<Integer, String>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, String> eldest) {
+            return size() > DETAIL_CACHE_SIZE;
+        }
+    };
+
+    // date of each data point in epoch days, labels are built on demand
+    private int[] epochDays;
+
+    // labels on x-axis and y-axis, formatted once
+    private final int[] xLabelIndices = new int[X_LABEL_NUMBER];
+    private final String[] yLabels = new String[AXIS_NUMBER];
+
+    // y-axis range of the visible window
     private Range range;
 
-    private int mouseX = 0;
-    private int mouseY = 0;
+    // visible window of data indices [viewFrom, viewTo)
+    private int viewFrom;
+    private int viewTo;
+
+    // pointer position and window when dragging started
+    private int dragX;
+    private int dragFrom;
+
+    // index of data point under the pointer, -1 for none
+    private int hoverIndex = -1;
+
+    // cached caption, axes, labels and lines, rebuilt when the size changes
+    private BufferedImage staticLayer;
+    private double layerScale;
+    private int layoutWidth;
+    private int layoutHeight;
+
+    // data point interval pixels of current layout
+    private double xDataStep;
+    private int lineChartWidth;
+    private int lineChartHeight;
+
+    // border of detailed information of the hovered data point
+    private final Rectangle detailBounds = new Rectangle();
+    private final Rectangle overlayBounds = new Rectangle();
+    private FontMetrics detailMetrics;
+
+    // reused to fill circles
+    private final Ellipse2D.Double circle = new Ellipse2D.Double();
+
+    // coordinates of visible data points, only filled when the window is short
+    private int[] xPoints = new int[0];
+    private int[] yPoints = new int[0];
 
-    private int[] xPoints;
-    private int[] highYPoints;
-    private int[] lowYPoints;
+    // decimated coordinates actually drawn, at most four points per pixel column
+    private int[] drawXPoints = new int[0];
+    private int[] drawYPoints = new int[0];
+    private int[] drawIndices = new int[0];
 
-    private List<Double> highScaled;
-    private List<Double> lowScaled;
+    private double[] high;
+    private double[] low;
+
+    // index of the first data point in high and low
+    private int offset;
+
+    // segment trees of high and low data, the same tree for single data, null in comparison mode
+    private MinMaxSegmentTree highTree;
+    private MinMaxSegmentTree lowTree;
+
+    // indicator overlays or compared symbols in drawing order
+    private final List<Overlay> overlays = new ArrayList<>();
+
+    // lines are compared in percent instead of high and low data
+    private boolean isComparison;
 
     // constant variables
-    private static final int AXIS_NUMBER = 5;
-    private static final int AXIS_OFFSET = 5;
+    private static final int X_LABEL_NUMBER = 5;
     private static final int CIRCLE_RADIUS = 6;
-    private static final int CAPTION_OFFSET = 20;
 
-    private static final int TOP_MARGIN = 90;
-    private static final int LEFT_MARGIN = 65;
-    private static final int RIGHT_MARGIN = 35;
-    private static final int BOTTOM_MARGIN = 50;
+    // minimum data points in a zoomed window and zoom ratio of each wheel notch
+    private static final int MIN_VISIBLE_SIZE = 10;
+    private static final double ZOOM_RATIO = 1.25;
+
+    private static final Font LEGEND_FONT = new Font(FONT_NAME, Font.PLAIN, 13);
+    private static final Font DETAIL_FONT = new Font(FONT_NAME, Font.PLAIN, 13);
+
+    // number of detailed information strings kept
+    private static final int DETAIL_CACHE_SIZE = 64;
 
-    private static final String FONT_NAME = "Lucida Console";
+    // margins of detailed information to its border
+    private static final int DETAIL_X_OFFSET = 10;
+    private static final int DETAIL_Y_OFFSET = 5;
 
-    private static final Color BORDER_COLOR = new Color(222, 222, 222);
-    private static final Color DARK_GREY = new Color(158, 158, 158);
-    private static final Color LIGHT_GREY = new Color(158, 158, 158, 200);
-    private static final Color DARK_BLUE = new Color(57, 119, 175);
     private static final Color DARK_ORANGE = new Color(239, 113, 54);
 
+    // colors of indicator overlays in adding order
+    private static final Color[] OVERLAY_COLORS = {
+            new Color(76, 175, 80),
+            new Color(156, 39, 176),
+            new Color(121, 85, 72),
+            new Color(233, 30, 99),
+            new Color(0, 150, 136)
+    };
+
     /**
-     * Class constructor for one scaled data given
+     * Class constructor for one data given
      * suitable for single data line chart
      *
-     * @param caption      of the line chart
-     * @param scaled       data given
-     * @param range        line chart y-axis range
-     * @param detailedData detailed data
+     * @param caption   of the line chart
+     * @param data      data given
+     * @param offset    index of the first data point in data
+     * @param size      number of data points
+     * @param epochDays date of each data in epoch days, starting at offset
+     * @param details   formatter of detailed data
      */
     LineChartPanel(
             String caption,
-            List<Double> scaled,
-            Range range,
-            List<String> detailedData) {
-
-        // bind mouse motion listener
+            double[] data,
+            int offset,
+            int size,
+            int[] epochDays,
+            DetailFormatter details) {
+
+        // bind mouse listeners
+        super.addMouseListener(this);
         super.addMouseMotionListener(this);
-        initialise(caption, scaled, null, range, detailedData);
+        super.addMouseWheelListener(this);
+        initialise(caption, data, null, offset, size, epochDays, details);
 
     }
 
     /**
-     * Class constructor for two scaled data given
+     * Class constructor for two data given
      * suitable for high-low line chart
      *
-     * @param caption      of the line chart
-     * @param highScaled   data given
-     * @param lowScaled    data given
-     * @param range        line chart y-axis range
-     * @param detailedData detailed data
+     * @param caption   of the line chart
+     * @param high      data given
+     * @param low       data given
+     * @param offset    index of the first data point in high and low
+     * @param size      number of data points
+     * @param epochDays date of each data in epoch days, starting at offset
+     * @param details   formatter of detailed data
+     */
+    LineChartPanel(
+            String caption,
+            double[] high,
+            double[] low,
+            int offset,
+            int size,
+            int[] epochDays,
+            DetailFormatter details) {
+
+        // bind mouse listeners
+        super.addMouseListener(this);
+        super.addMouseMotionListener(this);
+        super.addMouseWheelListener(this);
+        initialise(caption, high, low, offset, size, epochDays, details);
+
+    }
+
+    /**
+     * Class constructor for several aligned data given
+     * suitable for comparison line chart, each line is rebased to its first visible data point
+     *
+     * @param caption   of the line chart
+     * @param names     name of each line
+     * @param lines     aligned data of each line, NaN before its first data point
+     * @param size      number of data points
+     * @param epochDays date of each data in epoch days
+     * @param details   formatter of detailed data
      */
     LineChartPanel(
             String caption,
-            List<Double> highScaled,
-            List<Double> lowScaled,
-            Range range,
-            List<String> detailedData) {
+            String[] names,
+            double[][] lines,
+            int size,
+            int[] epochDays,
+            DetailFormatter details) {
+
+        // bind mouse listeners
+        super.addMouseListener(this);
+        super.addMouseMotionListener(this);
+        super.addMouseWheelListener(this);
+
+        this.isComparison = true;
 
-        // bind mouse motion listener
+        for (int i = 0; i < lines.length; i++) {
+            overlays.add(new Overlay(names[i], lines[i], size, true, getOverlayColor(i)));
+        }
+
+        initialise(caption, null, null, 0, size, epochDays, details);
+
+    }
+
+    /**
+     * Class constructor for an oscillator given
+     * suitable for indicators not in price unit like RSI or MACD, all lines share the y-axis of this chart
+     *
+     * @param oscillator computed indicator, its bar i is data point i of this chart
+     * @param offset     index of the first data point in epochDays
+     * @param size       number of data points
+     * @param epochDays  date of each data in epoch days, starting at offset
+     * @param details    formatter of detailed data
+     */
+    LineChartPanel(
+            Indicator oscillator,
+            int offset,
+            int size,
+            int[] epochDays,
+            DetailFormatter details) {
+
+        // bind mouse listeners
+        super.addMouseListener(this);
         super.addMouseMotionListener(this);
-        initialise(caption, highScaled, lowScaled, range, detailedData);
+        super.addMouseWheelListener(this);
+
+        for (int i = 0; i < oscillator.getLineCount(); i++) {
+            overlays.add(new Overlay(oscillator.getLineName(i), oscillator.getLine(i), size, false, getOverlayColor(i)));
+        }
+
+        initialise(oscillator.getName(), null, null, offset, size, epochDays, details);
 
     }
 
     /**
      * Variables bindings, common method
      *
-     * @param caption      of the line chart
-     * @param highScaled   data given
-     * @param lowScaled    data given
-     * @param range        line chart y-axis range
-     * @param detailedData detailed data to display when the pointer on the designated position
-     * @see LineChartPanel#LineChartPanel(String, List, Range, List)
-     * @see LineChartPanel#LineChartPanel(String, List, List, Range, List)
+     * @param caption   of the line chart
+     * @param high      data given
+     * @param low       data given
+     * @param offset    index of the first data point in high and low
+     * @param size      number of data points
+     * @param epochDays date of each data in epoch days, starting at offset
+     * @param details   formatter of detailed data to display when the pointer on the designated position
+     * @see LineChartPanel#LineChartPanel(String, double[], int, int, int[], DetailFormatter)
+     * @see LineChartPanel#LineChartPanel(String, double[], double[], int, int, int[], DetailFormatter)
+     * @see LineChartPanel#LineChartPanel(String, String[], double[][], int, int[], DetailFormatter)
+     * @see LineChartPanel#LineChartPanel(Indicator, int, int, int[], DetailFormatter)
      */
     private void initialise(
             String caption,
-            List<Double> highScaled,
-            List<Double> lowScaled,
-            Range range,
-            List<String> detailedData) {
-
-        // set white background
-        super.setBackground(Color.white);
-        // set light grey border color
-        super.setBorder(BorderFactory.createLineBorder(BORDER_COLOR, 1));
+            double[] high,
+            double[] low,
+            int offset,
+            int size,
+            int[] epochDays,
+            DetailFormatter details) {
 
         this.caption = caption;
-        this.highScaled = highScaled;
-        this.lowScaled = lowScaled;
-        this.range = range;
-        this.data = detailedData;
-        this.dataSize = detailedData.size();
+        this.high = high;
+        this.low = low;
+        this.offset = offset;
+        this.details = details;
+        this.epochDays = epochDays;
+        this.dataSize = size;
+
+        if (dataSize > 0 && high != null) {
+            // build segment trees once, each viewport is then answered in O(log n)
+            this.highTree = new MinMaxSegmentTree(high, offset, dataSize);
+            this.lowTree = low == null ? highTree : new MinMaxSegmentTree(low, offset, dataSize);
+        }
 
-        // initialise arrays
-        this.xPoints = new int[dataSize];
-        this.highYPoints = new int[dataSize];
-        this.lowYPoints = new int[dataSize];
+        // show all data
+        this.viewTo = dataSize;
+        updateViewport();
+
+    }
+
+    /**
+     * Add indicator overlay computed over the same data points as this chart
+     * the overlay shares the y-axis, oscillators get a chart of their own instead
+     *
+     * @param indicator computed indicator in the unit of this chart, its bar i is data point i of this chart
+     */
+    void addOverlay(Indicator indicator) {
+
+        overlays.add(new Overlay(indicator, dataSize, getOverlayColor(overlays.size())));
+
+        updateViewport();
+
+        // rebuild the cached layer on next paint
+        staticLayer = null;
+        repaint();
+
+    }
+
+    /**
+     * Calculate range and labels of the visible window
+     */
+    private void updateViewport() {
+
+        if (dataSize == 0) {
+            range = Range.withRelativeMargin(0, 0);
+        } else if (isComparison) {
+            // 0% is the first visible day of every line
+            double max = 0;
+            double min = 0;
+
+            for (Overlay overlay : overlays) {
+
+                overlay.updateRange(viewFrom, viewTo);
+
+                if (overlay.hasValue) {
+                    max = Math.max(max, overlay.toPercent(overlay.max));
+                    min = Math.min(min, overlay.toPercent(overlay.min));
+                }
+
+            }
+
+            range = Range.withSpanMargin(max, min);
+
+            for (Overlay overlay : overlays) {
+                // the shared percent range in data unit of each line
+                overlay.rebase(range);
+            }
+        } else {
+            // max of high and min of low in the visible window, an oscillator chart has overlays only
+            double max = high == null ? Double.NEGATIVE_INFINITY : high[offset + highTree.indexOfMax(viewFrom, viewTo)];
+            double min = high == null ? Double.POSITIVE_INFINITY : (low == null ? high : low)[offset + lowTree.indexOfMin(viewFrom, viewTo)];
+
+            for (Overlay overlay : overlays) {
+
+                overlay.updateRange(viewFrom, viewTo);
+
+                if (!overlay.ownScale && overlay.hasValue) {
+                    // price overlays like Bollinger bands share the y-axis
+                    max = Math.max(max, overlay.max);
+                    min = Math.min(min, overlay.min);
+                }
+
+            }
+
+            if (high != null) {
+                range = Range.withMargin(max, min);
+            } else {
+                // oscillators may be negative or below one, the window may be within the warm-up period
+                range = max >= min ? Range.withRelativeMargin(max, min) : Range.withRelativeMargin(0, 0);
+            }
+        }
+
+        int lastIndex = viewTo - 1;
+        int visibleSize = viewTo - viewFrom;
+
+        // indices of 5 dates to be displayed on x-axis
+        xLabelIndices[0] = viewFrom;
+        xLabelIndices[1] = viewFrom + visibleSize / 4;
+        xLabelIndices[2] = viewFrom + visibleSize / 2;
+        xLabelIndices[3] = viewFrom + (int) (visibleSize * 0.75);
+        xLabelIndices[4] = lastIndex;
+
+        // the interval of each label on y-axis
+        double rangeStep = range.getRange() / (AXIS_NUMBER - 1);
+
+        for (int i = 0; i < AXIS_NUMBER; i++) {
+            double value = range.getMin() + i * rangeStep;
+            // format label
+            yLabels[i] = isComparison
+                    ? Util.toFormattedNumberString(value) + "%"
+                    : Util.toFormattedNumberString(value, range.getMin());
+        }
+
+    }
+
+    /**
+     * @param index of overlay
+     * @return color of the overlay, golden-ratio hues after the palette
+     */
+    private static Color getOverlayColor(int index) {
+
+        if (index < OVERLAY_COLORS.length) {
+            return OVERLAY_COLORS[index];
+        }
+
+        return Color.getHSBColor((float) (index * 0.618033988749895 % 1), 0.75f, 0.75f);
+
+    }
+
+    /**
+     * Move visible window and repaint the chart
+     *
+     * @param from first index of window, inclusive
+     * @param size number of data points in window
+     */
+    private void setViewport(int from, int size) {
+
+        // keep window inside the data
+        size = Math.max(Math.min(MIN_VISIBLE_SIZE, dataSize), Math.min(size, dataSize));
+        from = Math.max(0, Math.min(from, dataSize - size));
+
+        if (from == viewFrom && from + size == viewTo) {
+            return;
+        }
+
+        viewFrom = from;
+        viewTo = from + size;
+        hoverIndex = -1;
+
+        updateViewport();
+
+        // rebuild the cached layer on next paint
+        staticLayer = null;
+        repaint();
 
     }
 
     /**
      * Delegate's paint method
+     * the static chart is drawn from the cached layer, only the hover overlay is drawn each time
      *
      * @param g Graphics object
      */
@@ -147,211 +454,373 @@ class LineChartPanel extends JPanel implements MouseMotionListener {
         super.paintComponent(g);
         Graphics2D g2d = (Graphics2D) g;
 
-        // calculate line chart width and height
-        int lineChartWidth = getWidth() - LEFT_MARGIN - RIGHT_MARGIN;
-        int lineChartHeight = getHeight() - TOP_MARGIN - BOTTOM_MARGIN;
+        // device scale, e.g. 2.0 on high-dpi screens
+        double scale = g2d.getTransform().getScaleX();
+
+        if (staticLayer == null || layoutWidth != getWidth() || layoutHeight != getHeight() || layerScale != scale) {
+            // first paint or size changed
+            layoutPoints(getWidth(), getHeight());
+            renderStaticLayer(scale);
+            // the hover overlay was measured for the old layout
+            updateOverlayBounds(hoverIndex);
+        }
+
+        // only the clipped dirty region is copied
+        g2d.drawImage(staticLayer, 0, 0, layoutWidth, layoutHeight, null);
+
+        if (hoverIndex < viewFrom || hoverIndex >= viewTo) {
+            return;
+        }
 
         // some render settings
         initialise(g2d);
 
-        // draw caption
-        drawCaption(g2d);
+        int x = getX(hoverIndex);
 
-        // pixel interval of each step to draw x Axis
-        int xAxisInterval = lineChartHeight / (AXIS_NUMBER - 1);
-        int axisX1 = LEFT_MARGIN - AXIS_OFFSET;
-        int axisX2 = getWidth() - RIGHT_MARGIN + AXIS_OFFSET;
-        int axisY = getHeight() - BOTTOM_MARGIN;
+        if (high == null) {
 
-        // draw axis
-        drawXAxis(g2d, xAxisInterval, axisX1, axisX2, axisY);
-
-        // draw labels on y-axis
-        drawYAxisLabels(g2d, xAxisInterval, axisX1, axisY);
+            for (Overlay overlay : overlays) {
+                for (double[] line : overlay.lines) {
+                    // draw small circle on every line having data
+                    double value = line[hoverIndex];
+                    if (!Double.isNaN(value)) {
+                        drawCircle(g2d, x, getY(value, overlay.ownScale ? overlay.range : range), overlay.color);
+                    }
+                }
+            }
 
-        // return for zero data
-        if (dataSize == 0) {
+            // draw detailed information on top of line chart graph
+            drawDetailedDataRectangle(g2d, getDetail(hoverIndex));
             return;
-        }
-
-        // data point interval pixels
-        double xDataStep = lineChartWidth / ((double) dataSize + 1);
 
-        for (int i = 1; i < dataSize + 1; i++) {
-            // calculate x coordinates based on data point interval
-            xPoints[i - 1] = (int) (LEFT_MARGIN + i * xDataStep);
-            // calculate y coordinates based on scaled data
-            highYPoints[i - 1] = (int) (highScaled.get(i - 1) * lineChartHeight) + TOP_MARGIN;
         }
 
-        // draw poly line based on x, y coordinates
-        drawPolyLine(g2d, xPoints, highYPoints, DARK_BLUE);
+        int y = getY(high[offset + hoverIndex]);
 
-        if (lowScaled != null) {
-            // two scaled data given draw another ploy line
+        // draw small circle to indicate current data point
+        drawCircle(g2d, x, y, DARK_BLUE);
 
-            for (int i = 0; i < dataSize; i++) {
-                // calculate y coordinates based on scaled data
-                lowYPoints[i] = (int) (lowScaled.get(i) * lineChartHeight) + TOP_MARGIN;
-            }
-            // draw poly line based on x, y coordinates
-            drawPolyLine(g2d, xPoints, lowYPoints, DARK_ORANGE);
-            // draw legend to distinguish two lines
-            drawLegend(g2d);
+        if (low != null) {
+            // draw another circle to indicate current data point
+            y = getY(low[offset + hoverIndex]);
+            drawCircle(g2d, x, y, DARK_ORANGE);
         }
 
-        // indices of 5 dates to be displayed on x-axis
-        int[] steps = new int[]{0, dataSize / 4, dataSize / 2, (int) (dataSize * 0.75), dataSize - 1};
+        // draw detailed information on top of line chart graph
+        drawDetailedDataRectangle(g2d, getDetail(hoverIndex));
+
+    }
 
-        for (int step : steps) {
-            int x = xPoints[step];
+    /**
+     * Get detailed information of a data point, formatted on first use
+     *
+     * @param index of data point
+     * @return detailed information
+     */
+    private String getDetail(int index) {
 
-            // get date from detailed data via regex ' {2}'
-            String[] labelData = data.get(step).split(" {2}");
-            String label = labelData[labelData.length - 1];
+        String detail = detailCache.get(index);
 
-            // draw labels on x-axis
-            drawXAxisLabels(g2d, label, x, axisY);
+        if (detail == null) {
+            detailBuilder.setLength(0);
+            details.appendDetail(detailBuilder, index);
+            detail = detailBuilder.toString();
+            detailCache.put(index, detail);
         }
 
-        // calculate the nearest data point based on current mouse position
-        int index = (int) Math.round((mouseX - LEFT_MARGIN) / xDataStep) - 1;
+        return detail;
 
-        if (index >= 0 && index < dataSize && mouseY > TOP_MARGIN && mouseY < axisY) {
-            // valid data index
+    }
 
-            int x = xPoints[index];
-            int y = highYPoints[index];
+    /**
+     * Calculate line chart size and data point interval for the given panel size
+     *
+     * @param width  of panel
+     * @param height of panel
+     */
+    private void layoutPoints(int width, int height) {
 
-            // draw small circle to indicate current data point
-            drawCircle(g2d, x, y, DARK_BLUE);
+        layoutWidth = width;
+        layoutHeight = height;
 
-            if (lowScaled != null) {
-                // draw another circle to indicate current data point
-                y = lowYPoints[index];
-                drawCircle(g2d, x, y, DARK_ORANGE);
-            }
+        // calculate line chart width and height
+        lineChartWidth = width - LEFT_MARGIN - RIGHT_MARGIN;
+        lineChartHeight = height - TOP_MARGIN - BOTTOM_MARGIN;
 
-            // draw detailed information on top of line chart graph
-            drawDetailedDataRectangle(g2d, data.get(index), x);
+        // data point interval pixels
+        xDataStep = lineChartWidth / ((double) (viewTo - viewFrom) + 1);
 
-        }
     }
 
     /**
-     * Rendering setting to make line chart smooth
+     * @param index of data point in the visible window
+     * @return x coordinate based on data point interval
+     */
+    private int getX(int index) {
+        return (int) (LEFT_MARGIN + (index - viewFrom + 1) * xDataStep);
+    }
+
+    /**
+     * Scale data by range of the visible window
+     * d_new = (max - d_old) / (max - min)
      *
-     * @param g2d Graphics2D object
+     * @param value data
+     * @return y coordinate
      */
-    private void initialise(Graphics2D g2d) {
+    private int getY(double value) {
+        return getY(value, range);
+    }
 
-        // antialiasing
-        g2d.setRenderingHints(new RenderingHints(
-                RenderingHints.KEY_ANTIALIASING,
-                RenderingHints.VALUE_ANTIALIAS_ON));
+    /**
+     * Scale data by the given range
+     *
+     * @param value     data
+     * @param lineRange range of the line
+     * @return y coordinate
+     */
+    private int getY(double value, Range lineRange) {
+        return (int) ((lineRange.getMax() - value) / lineRange.getRange() * lineChartHeight) + TOP_MARGIN;
+    }
 
-        // alpha interpolation
-        g2d.setRenderingHints(new RenderingHints(
-                RenderingHints.KEY_ALPHA_INTERPOLATION,
-                RenderingHints.VALUE_ALPHA_INTERPOLATION_QUALITY));
+    /**
+     * Render caption, axes, labels and lines into the cached layer
+     *
+     * @param scale device scale of the screen
+     */
+    private void renderStaticLayer(double scale) {
 
-        // color rendering
-        g2d.setRenderingHints(new RenderingHints(
-                RenderingHints.KEY_COLOR_RENDERING,
-                RenderingHints.VALUE_COLOR_RENDER_QUALITY));
+        layerScale = scale;
 
-        // fractional text metrics
-        g2d.setRenderingHints(new RenderingHints(
-                RenderingHints.KEY_FRACTIONALMETRICS,
-                RenderingHints.VALUE_FRACTIONALMETRICS_ON));
+        staticLayer = new BufferedImage(
+                Math.max(1, (int) Math.ceil(layoutWidth * scale)),
+                Math.max(1, (int) Math.ceil(layoutHeight * scale)),
+                BufferedImage.TYPE_INT_RGB
+        );
 
-        // image interpolation
-        g2d.setRenderingHints(new RenderingHints(
-                RenderingHints.KEY_INTERPOLATION,
-                RenderingHints.VALUE_INTERPOLATION_BICUBIC));
+        Graphics2D g2d = staticLayer.createGraphics();
+        g2d.scale(scale, scale);
 
-        // Rendering
-        g2d.setRenderingHints(new RenderingHints(
-                RenderingHints.KEY_RENDERING,
-                RenderingHints.VALUE_RENDER_QUALITY));
+        // fill background
+        g2d.setColor(getBackground());
+        g2d.fillRect(0, 0, layoutWidth, layoutHeight);
 
-        // stroke normalization control
-        g2d.setRenderingHints(new RenderingHints(
-                RenderingHints.KEY_STROKE_CONTROL,
-                RenderingHints.VALUE_STROKE_NORMALIZE));
+        // some render settings
+        initialise(g2d);
+
+        // draw caption
+        drawCaption(g2d, caption);
+
+        // pixel interval of each step to draw x Axis
+        int xAxisInterval = lineChartHeight / (AXIS_NUMBER - 1);
+        int axisX1 = LEFT_MARGIN - AXIS_OFFSET;
+        int axisX2 = layoutWidth - RIGHT_MARGIN + AXIS_OFFSET;
+        int axisY = layoutHeight - BOTTOM_MARGIN;
+
+        // draw axis
+        drawXAxis(g2d, xAxisInterval, axisX1, axisX2, axisY);
 
-        // text antialiasing
-        g2d.setRenderingHints(new RenderingHints(
-                RenderingHints.KEY_TEXT_ANTIALIASING,
-                RenderingHints.VALUE_TEXT_ANTIALIAS_ON));
+        // draw labels on y-axis
+        drawYAxisLabels(g2d, yLabels, xAxisInterval, axisX1, axisY);
+
+        if (dataSize > 0) {
+
+            if (high != null) {
+                // draw poly line based on x, y coordinates
+                drawPolyLine(g2d, high, offset, highTree, viewFrom, range, DARK_BLUE, THICK_STROKE);
+            }
+
+            if (low != null) {
+                // two data given draw another ploy line
+                drawPolyLine(g2d, low, offset, lowTree, viewFrom, range, DARK_ORANGE, THICK_STROKE);
+                // draw legend to distinguish two lines
+                drawLegend(g2d);
+            }
+
+            for (Overlay overlay : overlays) {
+                // lines on top of data, skipping the warm-up period
+                for (int i = 0; i < overlay.lines.length; i++) {
+                    int from = Math.max(viewFrom, overlay.firstIndices[i]);
+                    if (from < viewTo) {
+                        Range lineRange = overlay.ownScale ? overlay.range : range;
+                        drawPolyLine(g2d, overlay.lines[i], 0, overlay.trees[i], from, lineRange, overlay.color, overlay.stroke);
+                    }
+                }
+            }
+
+            if (!overlays.isEmpty()) {
+                // draw names of overlays in their colors
+                drawOverlayLegend(g2d);
+            }
+
+            for (int step : xLabelIndices) {
+                // draw labels on x-axis
+                drawXAxisLabels(g2d, EpochDays.getLabel(epochDays[offset + step]), getX(step), axisY);
+            }
+
+        }
+
+        g2d.dispose();
 
     }
 
     /**
-     * Draw caption of line chart
+     * Calculate region covered by the hover overlay into overlayBounds
      *
-     * @param g2d Graphics2d object
+     * @param index of data point
+     * @return false for no data point
      */
-    private void drawCaption(Graphics2D g2d) {
+    private boolean updateOverlayBounds(int index) {
 
-        g2d.setColor(Color.black);
-        g2d.setFont(new Font(FONT_NAME, Font.PLAIN, 16));
+        if (index < viewFrom || index >= viewTo || staticLayer == null) {
+            return false;
+        }
 
-        FontMetrics fontMetrics = g2d.getFontMetrics();
-        Rectangle2D captionBounds = fontMetrics.getStringBounds(caption, g2d);
+        int x = getX(index);
+
+        // detailed information border
+        updateDetailedDataBounds(getDetail(index), x);
+        overlayBounds.setBounds(detailBounds);
 
-        int yFontOffset = fontMetrics.getAscent();
-        int x = (int) (getWidth() - captionBounds.getWidth()) / 2;
-        int y = yFontOffset + CAPTION_OFFSET;
-        g2d.drawString(caption, x, y);
+        if (high == null) {
+
+            for (Overlay overlay : overlays) {
+                for (double[] line : overlay.lines) {
+                    double value = line[index];
+                    if (!Double.isNaN(value)) {
+                        int y = getY(value, overlay.ownScale ? overlay.range : range);
+                        overlayBounds.add(x - CIRCLE_RADIUS, y - CIRCLE_RADIUS);
+                        overlayBounds.add(x + CIRCLE_RADIUS, y + CIRCLE_RADIUS);
+                    }
+                }
+            }
+
+            // antialiasing and fractional metrics may reach one or two pixels further
+            overlayBounds.grow(3, 3);
+
+            return true;
+
+        }
+
+        int y = getY(high[offset + index]);
+
+        // circles
+        overlayBounds.add(x - CIRCLE_RADIUS, y - CIRCLE_RADIUS);
+        overlayBounds.add(x + CIRCLE_RADIUS, y + CIRCLE_RADIUS);
+
+        if (low != null) {
+            y = getY(low[offset + index]);
+            overlayBounds.add(x - CIRCLE_RADIUS, y - CIRCLE_RADIUS);
+            overlayBounds.add(x + CIRCLE_RADIUS, y + CIRCLE_RADIUS);
+        }
+
+        // antialiasing and fractional metrics may reach one or two pixels further
+        overlayBounds.grow(3, 3);
+
+        return true;
 
     }
 
     /**
-     * Draw X-axis
+     * Draw poly line of the visible window
+     * points are decimated to first, min, max and last of each pixel column before drawing,
+     * long windows are decimated by the segment tree without visiting every point
      *
-     * @param g2d      Graphics2d object
-     * @param interval pixel interval of each step to draw x Axis
-     * @param axisX1   x1 of line
-     * @param axisX2   x2 of line
-     * @param axisY    y of line
+     * @param g2d          Graphics2d object
+     * @param values       data given
+     * @param valuesOffset index of the first data point in values
+     * @param tree         segment tree of the data
+     * @param from         first index to draw, not before viewFrom
+     * @param lineRange    range to scale the data
+     * @param color        to draw
+     * @param stroke       to draw
      */
-    private void drawXAxis(Graphics2D g2d, int interval, int axisX1, int axisX2, int axisY) {
+    private void drawPolyLine(
+            Graphics2D g2d,
+            double[] values,
+            int valuesOffset,
+            MinMaxSegmentTree tree,
+            int from,
+            Range lineRange,
+            Color color,
+            Stroke stroke) {
+
+        int visibleSize = viewTo - from;
+
+        if (visibleSize == 1) {
+            // draw a small data point instead for the single data
+            drawCircle(g2d, getX(from), getY(values[valuesOffset + from], lineRange), color);
+            return;
+        }
 
-        g2d.setColor(DARK_GREY);
-        g2d.setStroke(new BasicStroke(2));
-        // draw the bottom x-axis
-        g2d.drawLine(axisX1, axisY, axisX2, axisY);
+        int columns = lineChartWidth + 1;
+        int capacity = M4Decimator.capacity(visibleSize, columns);
 
-        g2d.setColor(LIGHT_GREY);
-        g2d.setStroke(new BasicStroke(1));
-        for (int i = 1; i < AXIS_NUMBER; i++) {
-            // draw the other x-axis by subtracting initial y position from the pixel interval
-            int y = axisY - interval * i;
-            g2d.drawLine(axisX1, y, axisX2, y);
+        if (drawXPoints.length < capacity) {
+            // grow buffers when the panel becomes wider
+            xPoints = new int[capacity];
+            yPoints = new int[capacity];
+            drawXPoints = new int[capacity];
+            drawYPoints = new int[capacity];
+            drawIndices = new int[capacity];
         }
 
+        int count;
+
+        if (visibleSize <= capacity) {
+
+            // short window, calculate every visible point
+            for (int i = 0; i < visibleSize; i++) {
+                xPoints[i] = getX(from + i);
+                yPoints[i] = getY(values[valuesOffset + from + i], lineRange);
+            }
+
+            count = M4Decimator.decimate(xPoints, yPoints, visibleSize, drawXPoints, drawYPoints);
+
+        } else {
+
+            // long window, O(log n) per pixel column
+            count = M4Decimator.decimate(tree, from, viewTo, columns, drawIndices);
+
+            for (int i = 0; i < count; i++) {
+                drawXPoints[i] = getX(drawIndices[i]);
+                drawYPoints[i] = getY(values[valuesOffset + drawIndices[i]], lineRange);
+            }
+
+        }
+
+        // draw poly line with decimated coordinates
+        g2d.setStroke(stroke);
+        g2d.setColor(color);
+        g2d.drawPolyline(drawXPoints, drawYPoints, count);
+
     }
 
     /**
-     * Draw poly line by given x, y coordinates
+     * Draw names of indicator overlays or compared symbols under the caption
      *
-     * @param g2d     Graphics2d object
-     * @param xPoints x coordinates
-     * @param yPoints y coordinates
-     * @param color   to draw
+     * @param g2d Graphics2D g2d
      */
-    private void drawPolyLine(Graphics2D g2d, int[] xPoints, int[] yPoints, Color color) {
+    private void drawOverlayLegend(Graphics2D g2d) {
 
-        if (xPoints.length == 1) {
-            // draw a small data point instead for the single data
-            drawCircle(g2d, xPoints[0], yPoints[0], color);
+        g2d.setFont(LABEL_FONT);
+        FontMetrics fontMetrics = g2d.getFontMetrics();
 
-        } else {
-            // draw poly line with given coordinates
-            g2d.setStroke(new BasicStroke(2));
-            g2d.setColor(color);
-            g2d.drawPolyline(xPoints, yPoints, dataSize);
+        int x = LEFT_MARGIN;
+        int y = TOP_MARGIN - CAPTION_OFFSET;
+
+        for (Overlay overlay : overlays) {
+
+            int width = fontMetrics.stringWidth(overlay.name);
+
+            if (x > LEFT_MARGIN && x + width > layoutWidth - RIGHT_MARGIN) {
+                // wrap names of many compared symbols
+                x = LEFT_MARGIN;
+                y += fontMetrics.getHeight();
+            }
+
+            g2d.setColor(overlay.color);
+            g2d.drawString(overlay.name, x, y);
+            x += width + CAPTION_OFFSET;
 
         }
 
@@ -364,7 +833,7 @@ class LineChartPanel extends JPanel implements MouseMotionListener {
      */
     private void drawLegend(Graphics2D g2d) {
 
-        g2d.setFont(new Font(FONT_NAME, Font.PLAIN, 13));
+        g2d.setFont(LEGEND_FONT);
         FontMetrics fontMetrics = g2d.getFontMetrics();
         Rectangle2D legendBounds = fontMetrics.getStringBounds("High", g2d);
 
@@ -377,7 +846,7 @@ class LineChartPanel extends JPanel implements MouseMotionListener {
         int rectY = CAPTION_OFFSET / 2 - 3;
 
         g2d.setColor(LIGHT_GREY);
-        g2d.setStroke(new BasicStroke(1));
+        g2d.setStroke(THIN_STROKE);
         g2d.drawRect(rectX, rectY, rectWidth, rectHeight);
 
         // space between circles
@@ -410,8 +879,8 @@ class LineChartPanel extends JPanel implements MouseMotionListener {
     private void drawXAxisLabels(Graphics2D g2d, String label, int x, int y) {
 
         g2d.setColor(DARK_GREY);
-        g2d.setStroke(new BasicStroke(2));
-        g2d.setFont(new Font(FONT_NAME, Font.PLAIN, 10));
+        g2d.setStroke(THICK_STROKE);
+        g2d.setFont(LABEL_FONT);
 
         // label bound to centre the label
         FontMetrics fontMetrics = g2d.getFontMetrics();
@@ -428,41 +897,6 @@ class LineChartPanel extends JPanel implements MouseMotionListener {
 
     }
 
-    /**
-     * Draw labels on y-axis
-     *
-     * @param g2d      Graphics2D g2d object
-     * @param interval pixel interval of each label
-     * @param x        coordinate of x-axis
-     * @param y        coordinate of x-axis
-     */
-    private void drawYAxisLabels(Graphics2D g2d, int interval, int x, int y) {
-
-        g2d.setColor(DARK_GREY);
-        g2d.setFont(new Font(FONT_NAME, Font.PLAIN, 10));
-
-        FontMetrics fontMetrics = g2d.getFontMetrics();
-
-        // the interval of each label
-        double rangeStep = range.getRange() / (AXIS_NUMBER - 1);
-
-        for (int i = 0; i < AXIS_NUMBER; i++) {
-
-            double value = range.getMin() + i * rangeStep;
-            // format label
-            String label = Util.toFormattedNumberString(value, range.getMin());
-            // label bound to centre the label
-            Rectangle2D labelBounds = fontMetrics.getStringBounds(label, g2d);
-
-            // calculate label position by x-axis position, axis offset, and font ascent
-            int tx = x - (int) labelBounds.getWidth() - AXIS_OFFSET;
-            int ty = y + fontMetrics.getAscent() / 2 - i * interval - 1;
-            g2d.drawString(label, tx, ty);
-
-        }
-
-    }
-
     /**
      * Draw small circle to indicate data point
      *
@@ -479,33 +913,50 @@ class LineChartPanel extends JPanel implements MouseMotionListener {
         int diameter = CIRCLE_RADIUS * 2;
 
         g2d.setColor(color);
-        Ellipse2D.Double ellipse = new Ellipse2D.Double(x, y, diameter, diameter);
+        circle.setFrame(x, y, diameter, diameter);
         // fill the circle
-        g2d.fill(ellipse);
+        g2d.fill(circle);
 
     }
 
     /**
-     * Draw detailed information
+     * Draw detailed information inside detailBounds
      *
      * @param g2d          Graphics2D g2d object
      * @param detailedData information to draw
-     * @param x            coordinate of data point
      */
-    private void drawDetailedDataRectangle(Graphics2D g2d, String detailedData, int x) {
+    private void drawDetailedDataRectangle(Graphics2D g2d, String detailedData) {
 
-        g2d.setFont(new Font(FONT_NAME, Font.PLAIN, 13));
-        FontMetrics fontMetrics = g2d.getFontMetrics();
-        // information bound to centre the information
-        Rectangle2D detailedDataBounds = fontMetrics.getStringBounds(detailedData, g2d);
+        // draw border
+        g2d.setColor(LIGHT_GREY);
+        g2d.setStroke(THIN_STROKE);
+        g2d.drawRect(detailBounds.x, detailBounds.y, detailBounds.width, detailBounds.height);
 
-        // margins of information to its border
-        int xOffset = 10;
-        int yOffset = 5;
+        // draw text
+        g2d.setColor(Color.black);
+        g2d.setFont(DETAIL_FONT);
+        int tx = detailBounds.x + DETAIL_X_OFFSET / 2;
+        int ty = detailBounds.y + DETAIL_Y_OFFSET / 2 + detailMetrics.getAscent();
+        g2d.drawString(detailedData, tx, ty);
+
+    }
+
+    /**
+     * Measure border of detailed information into detailBounds
+     * called once per hovered data point, not on every paint
+     *
+     * @param detailedData information to draw
+     * @param x            coordinate of data point
+     */
+    private void updateDetailedDataBounds(String detailedData, int x) {
+
+        if (detailMetrics == null) {
+            detailMetrics = getFontMetrics(DETAIL_FONT);
+        }
 
         // border width and height
-        int detailedDataBoundWidth = (int) detailedDataBounds.getWidth() + xOffset;
-        int detailedDataBoundHeight = (int) detailedDataBounds.getHeight() + yOffset;
+        int detailedDataBoundWidth = detailMetrics.stringWidth(detailedData) + DETAIL_X_OFFSET;
+        int detailedDataBoundHeight = detailMetrics.getHeight() + DETAIL_Y_OFFSET;
 
         // minimum margin to edge of the panel
         int minMargin = 10;
@@ -531,37 +982,286 @@ class LineChartPanel extends JPanel implements MouseMotionListener {
             tx = getWidth() - detailedDataBoundWidth - minMargin;
         }
 
-        // draw border
-        g2d.setColor(LIGHT_GREY);
-        g2d.setStroke(new BasicStroke(1));
-        g2d.drawRect(tx, ty, detailedDataBoundWidth, detailedDataBoundHeight);
+        detailBounds.setBounds(tx, ty, detailedDataBoundWidth, detailedDataBoundHeight);
 
-        // draw text
-        g2d.setColor(Color.black);
-        tx += xOffset / 2;
-        ty += +yOffset / 2 + fontMetrics.getAscent();
-        g2d.drawString(detailedData, tx, ty);
+    }
+
+    /**
+     * Method for mouse pressed
+     * remember where dragging starts
+     *
+     * @param e MouseEvent object
+     */
+    @Override
+    public void mousePressed(MouseEvent e) {
+
+        dragX = e.getX();
+        dragFrom = viewFrom;
+
+    }
+
+    /**
+     * Method for mouse clicked
+     * double click shows all data again
+     *
+     * @param e MouseEvent object
+     */
+    @Override
+    public void mouseClicked(MouseEvent e) {
+
+        if (e.getClickCount() == 2) {
+            setViewport(0, dataSize);
+        }
+
+    }
+
+    @Override
+    public void mouseReleased(MouseEvent e) {
+    }
 
+    @Override
+    public void mouseEntered(MouseEvent e) {
     }
 
+    @Override
+    public void mouseExited(MouseEvent e) {
+    }
+
+    /**
+     * Method for mouse dragged
+     * pan the visible window with the pointer
+     *
+     * @param e MouseEvent object
+     */
     @Override
     public void mouseDragged(MouseEvent e) {
+
+        if (staticLayer == null || xDataStep == 0) {
+            return;
+        }
+
+        // data points moved since dragging started
+        int shift = (int) Math.round((e.getX() - dragX) / xDataStep);
+        setViewport(dragFrom - shift, viewTo - viewFrom);
+
+    }
+
+    /**
+     * Method for mouse wheel moved
+     * zoom the visible window around the pointer
+     *
+     * @param e MouseWheelEvent object
+     */
+    @Override
+    public void mouseWheelMoved(MouseWheelEvent e) {
+
+        if (staticLayer == null || lineChartWidth <= 0) {
+            return;
+        }
+
+        int visibleSize = viewTo - viewFrom;
+
+        // wheel up zooms in, wheel down zooms out
+        int size = (int) Math.round(visibleSize * Math.pow(ZOOM_RATIO, e.getPreciseWheelRotation()));
+
+        // keep the data point under the pointer at the same position
+        double anchor = Math.max(0, Math.min(1, (e.getX() - LEFT_MARGIN) / (double) lineChartWidth));
+        int anchorIndex = viewFrom + (int) Math.round(anchor * visibleSize);
+
+        setViewport(anchorIndex - (int) Math.round(anchor * size), size);
+
     }
 
     /**
      * Method for mouse moved
+     * only the regions of the old and the new hover overlay are repainted
      *
      * @param e MouseEvent object
      */
     @Override
     public void mouseMoved(MouseEvent e) {
 
-        // get x, y coordinate
-        mouseX = e.getX();
-        mouseY = e.getY();
+        int index = -1;
 
-        // repaint UI
-        repaint();
+        if (staticLayer != null && dataSize > 0) {
+            // calculate the nearest data point based on current mouse position
+            int nearest = viewFrom + (int) Math.round((e.getX() - LEFT_MARGIN) / xDataStep) - 1;
+            int axisY = getHeight() - BOTTOM_MARGIN;
+
+            if (nearest >= viewFrom && nearest < viewTo && e.getY() > TOP_MARGIN && e.getY() < axisY) {
+                // valid data index
+                index = nearest;
+            }
+        }
+
+        if (index == hoverIndex) {
+            // same data point, nothing to update
+            return;
+        }
+
+        // repaint dirty regions of old and new overlay
+        if (updateOverlayBounds(hoverIndex)) {
+            repaint(overlayBounds.x, overlayBounds.y, overlayBounds.width, overlayBounds.height);
+        }
+
+        hoverIndex = index;
+
+        if (updateOverlayBounds(hoverIndex)) {
+            repaint(overlayBounds.x, overlayBounds.y, overlayBounds.width, overlayBounds.height);
+        }
+
+    }
+
+    /**
+     * Formatter of detailed information shown for the hovered data point
+     */
+    interface DetailFormatter {
+
+        /**
+         * Append detailed information like '157.74 USD  30 Dec 2018'
+         *
+         * @param builder to append to
+         * @param index   of data point
+         */
+        void appendDetail(StringBuilder builder, int index);
+
+    }
+
+    /**
+     * Lines of an indicator or a compared symbol with their segment trees
+     */
+    private static class Overlay {
+
+        private final String name;
+        private final double[][] lines;
+        private final MinMaxSegmentTree[] trees;
+
+        // first non-NaN index of each line
+        private final int[] firstIndices;
+
+        private final boolean ownScale;
+        private final Color color;
+        private final Stroke stroke;
+
+        // extremes of the visible window
+        private boolean hasValue;
+        private double max;
+        private double min;
+        private Range range;
+
+        // first visible data point, percent changes are relative to it
+        private double base;
+
+        Overlay(Indicator indicator, int size, Color color) {
+
+            this.name = indicator.getName();
+            this.ownScale = false;
+            this.color = color;
+            this.stroke = THIN_STROKE;
+
+            int lineCount = indicator.getLineCount();
+            this.lines = new double[lineCount][];
+            this.trees = new MinMaxSegmentTree[lineCount];
+            this.firstIndices = new int[lineCount];
+
+            for (int i = 0; i < lineCount; i++) {
+                lines[i] = indicator.getLine(i);
+            }
+
+            index(size);
+
+        }
+
+        Overlay(String name, double[] line, int size, boolean ownScale, Color color) {
+
+            // compared symbols are scaled by the rebased percent range, oscillator lines by the chart range
+            this.name = name;
+            this.ownScale = ownScale;
+            this.color = color;
+            this.stroke = THICK_STROKE;
+
+            this.lines = new double[][]{line};
+            this.trees = new MinMaxSegmentTree[1];
+            this.firstIndices = new int[1];
+
+            index(size);
+
+        }
+
+        /**
+         * Build segment trees and find the first data point of each line
+         *
+         * @param size number of data points
+         */
+        private void index(int size) {
+
+            for (int i = 0; i < lines.length; i++) {
+
+                trees[i] = size == 0 ? null : new MinMaxSegmentTree(lines[i], 0, size);
+
+                int first = 0;
+                while (first < size && Double.isNaN(lines[i][first])) {
+                    first++;
+                }
+                firstIndices[i] = first;
+
+            }
+
+        }
+
+        /**
+         * Calculate extremes and range of a window
+         *
+         * @param from first index, inclusive
+         * @param to   last index, exclusive
+         */
+        private void updateRange(int from, int to) {
+
+            hasValue = false;
+            max = Double.NEGATIVE_INFINITY;
+            min = Double.POSITIVE_INFINITY;
+
+            for (int i = 0; i < lines.length; i++) {
+
+                int start = Math.max(from, firstIndices[i]);
+
+                if (start >= to) {
+                    continue;
+                }
+
+                hasValue = true;
+                max = Math.max(max, lines[i][trees[i].indexOfMax(start, to)]);
+                min = Math.min(min, lines[i][trees[i].indexOfMin(start, to)]);
+
+            }
+
+            range = hasValue ? Range.withRelativeMargin(max, min) : Range.withRelativeMargin(0, 0);
+
+            // first visible data point of the only line of a compared symbol
+            base = hasValue ? lines[0][Math.max(from, firstIndices[0])] : Double.NaN;
+
+        }
+
+        /**
+         * @param value data of the first line
+         * @return percent change from the first visible data point
+         */
+        private double toPercent(double value) {
+            return (value / base - 1) * 100;
+        }
+
+        /**
+         * Convert the shared percent range to data unit of the first line
+         *
+         * @param percentRange shared range in percent
+         */
+        private void rebase(Range percentRange) {
+
+            if (hasValue) {
+                range = new Range(base * (1 + percentRange.getMax() / 100), base * (1 + percentRange.getMin() / 100));
+            }
+
+        }
 
     }
 
@@ -0,0 +1,314 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Headless load test of download, parse and panel construction
+ * each request downloads one price CSV file, reads it, computes the indicators and builds the four panels,
+ * the quote cache is bypassed so every request goes over HTTP,
+ * throughput and latency percentiles of every stage are printed at the end
+ * <p>
+ * the endpoint is -Dstockviewer.quoteUrl if set, otherwise a QuoteServer started in the same process
+ * <p>
+ * usage: java -Djava.awt.headless=true LoadTestDriver [REQUESTS [CONCURRENCY [DAYS [LATENCY_MILLIS [ERROR_RATE]]]]]
+ *
+ * @author Xudong Wang (xwang199@sheffield.ac.uk)
+ * @version 1.0 18 October 2026
+ */
+
+
+class LoadTestDriver {
+
+    private static final String QUOTE_URL_PROPERTY = "stockviewer.quoteUrl";
+
+    private static final int DEFAULT_REQUESTS = 500;
+    private static final int DEFAULT_CONCURRENCY = 8;
+    private static final int DEFAULT_DAYS = 365;
+
+    // share of the requests run first and left out of the results, so the JIT compiler has warmed up
+    private static final double WARM_UP_SHARE = 0.1;
+
+    // last day of every requested range, fixed so runs are comparable
+    private static final LocalDate END_DATE = LocalDate.of(2018, 12, 30);
+
+    // requests cycle through 'SYN0' to 'SYN999'
+    private static final int SYMBOL_COUNT = 1000;
+
+    private static final String[] STAGES = {"download", "parse", "panels", "total"};
+    private static final double[] PERCENTILES = {0.5, 0.9, 0.99, 1};
+
+    /**
+     * Entrance of load test mode
+     *
+     * @param args optional number of requests, concurrency, days per request, server latency and error rate
+     */
+    public static void main(String[] args) {
+
+        // panels are built but never shown
+        System.setProperty("java.awt.headless", "true");
+
+        QuoteServer quoteServer = null;
+
+        try {
+
+            int requests = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_REQUESTS;
+            int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_CONCURRENCY;
+            int days = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_DAYS;
+            long latencyMillis = args.length > 3 ? Long.parseLong(args[3]) : 0;
+            double errorRate = args.length > 4 ? Double.parseDouble(args[4]) : 0;
+
+            if (System.getProperty(QUOTE_URL_PROPERTY) == null) {
+                // set before QuoteCache is loaded, it reads the property once
+                quoteServer = new QuoteServer(0, latencyMillis, errorRate);
+                quoteServer.start();
+                System.setProperty(QUOTE_URL_PROPERTY, quoteServer.getQuoteUrlTemplate());
+            }
+
+            System.out.println("Endpoint: " + System.getProperty(QUOTE_URL_PROPERTY));
+
+            LoadTestDriver driver = new LoadTestDriver(new DataParser(), concurrency, END_DATE.minusDays(days - 1), END_DATE);
+
+            try {
+                driver.run((int) (requests * WARM_UP_SHARE));
+                driver.run(requests).print(concurrency);
+            } finally {
+                driver.close();
+            }
+
+        } catch (IOException | RuntimeException e) {
+            e.printStackTrace();
+            System.exit(1);
+        } finally {
+            if (quoteServer != null) {
+                quoteServer.stop();
+            }
+        }
+
+    }
+
+    private final DataParser dataParser;
+    private final ExecutorService executor;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+
+    // downloads are written here and deleted once read
+    private final Path directory;
+
+    /**
+     * Class constructor
+     *
+     * @param dataParser  computes the indicators and builds the panels
+     * @param concurrency number of requests in progress at the same time
+     * @param startDate   start date of every request
+     * @param endDate     end date of every request
+     * @throws IOException if the download directory cannot be created
+     */
+    LoadTestDriver(DataParser dataParser, int concurrency, LocalDate startDate, LocalDate endDate) throws IOException {
+
+        this.dataParser = dataParser;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.directory = Files.createTempDirectory("load-test");
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "load-test-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+    }
+
+    /**
+     * Run requests and wait for all of them
+     *
+     * @param requests number of requests
+     * @return timings of the run
+     */
+    Report run(int requests) {
+
+        Report report = new Report(requests);
+        List<CompletableFuture<Void>> futures = new ArrayList<>(requests);
+
+        long start = System.nanoTime();
+
+        for (int i = 0; i < requests; i++) {
+            int request = i;
+            futures.add(CompletableFuture.runAsync(() -> runRequest(request, report), executor));
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+
+        report.elapsedNanos = System.nanoTime() - start;
+
+        return report;
+
+    }
+
+    /**
+     * Stop the workers and remove the download directory
+     *
+     * @throws IOException if the directory cannot be removed
+     */
+    void close() throws IOException {
+        executor.shutdown();
+        Files.deleteIfExists(directory);
+    }
+
+    /**
+     * Download, read, parse and build panels of one symbol, recording the time of each stage
+     *
+     * @param request index of request
+     * @param report  to record in
+     */
+    private void runRequest(int request, Report report) {
+
+        String symbol = "SYN" + request % SYMBOL_COUNT;
+        Path path = directory.resolve(request + ".csv");
+
+        try {
+
+            long start = System.nanoTime();
+
+            if (!HttpDownloader.download(path.toString(), QuoteCache.getQuoteUrl(symbol, startDate, endDate))) {
+                report.addFailure();
+                return;
+            }
+
+            long downloaded = System.nanoTime();
+            ParsedSeries parsed = dataParser.parse(PriceFileReader.read(path.toString()));
+
+            if (parsed.size() == 0) {
+                // empty body or unknown symbol, only succeeded requests are timed
+                report.addFailure();
+                return;
+            }
+
+            long parsedTime = System.nanoTime();
+            dataParser.getPanels(parsed);
+
+            long end = System.nanoTime();
+
+            report.add(downloaded - start, parsedTime - downloaded, end - parsedTime, end - start, parsed.size());
+
+        } catch (IOException | RuntimeException e) {
+            report.addFailure();
+        } finally {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                // left for the temporary directory cleaner
+            }
+        }
+
+    }
+
+    /**
+     * Timings of the succeeded requests of a run
+     */
+    static class Report {
+
+        // stage timings in nanoseconds, one row per stage, filled up to count
+        private final long[][] nanos;
+        private int count;
+        private int failures;
+        private long rows;
+        private long elapsedNanos;
+
+        /**
+         * Class constructor
+         *
+         * @param capacity number of requests
+         */
+        Report(int capacity) {
+            nanos = new long[STAGES.length][capacity];
+        }
+
+        /**
+         * Record a succeeded request
+         *
+         * @param downloadNanos time to download
+         * @param parseNanos    time to read and compute indicators
+         * @param panelNanos    time to build panels
+         * @param totalNanos    time from request to panels
+         * @param size          number of rows
+         */
+        synchronized void add(long downloadNanos, long parseNanos, long panelNanos, long totalNanos, int size) {
+            nanos[0][count] = downloadNanos;
+            nanos[1][count] = parseNanos;
+            nanos[2][count] = panelNanos;
+            nanos[3][count] = totalNanos;
+            rows += size;
+            count++;
+        }
+
+        /**
+         * Record a failed request
+         */
+        synchronized void addFailure() {
+            failures++;
+        }
+
+        /**
+         * Print throughput and latency percentiles
+         *
+         * @param concurrency number of requests in progress at the same time
+         */
+        synchronized void print(int concurrency) {
+
+            double seconds = elapsedNanos / 1e9;
+
+            System.out.printf(Locale.ROOT, "%d requests, %d failed, concurrency %d, %d rows per request%n",
+                    count + failures, failures, concurrency, count == 0 ? 0 : rows / count);
+            System.out.printf(Locale.ROOT, "throughput %.1f requests/s, %.0f rows/s over %.0f ms%n",
+                    count / seconds, rows / seconds, elapsedNanos / 1e6);
+
+            System.out.printf(Locale.ROOT, "%-10s%10s%10s%10s%10s%n", "ms", "p50", "p90", "p99", "max");
+
+            for (int stage = 0; stage < STAGES.length; stage++) {
+
+                long[] sorted = Arrays.copyOf(nanos[stage], count);
+                Arrays.sort(sorted);
+
+                System.out.printf(Locale.ROOT, "%-10s", STAGES[stage]);
+                for (double percentile : PERCENTILES) {
+                    System.out.printf(Locale.ROOT, "%10.2f", getPercentile(sorted, percentile) / 1e6);
+                }
+                System.out.println();
+
+            }
+
+        }
+
+        /**
+         * Get percentile by nearest rank
+         *
+         * @param sorted     values in ascending order
+         * @param percentile from 0 to 1
+         * @return value at the percentile, 0 if there is none
+         */
+        private static long getPercentile(long[] sorted, double percentile) {
+
+            if (sorted.length == 0) {
+                return 0;
+            }
+
+            int rank = (int) Math.ceil(percentile * sorted.length);
+
+            return sorted[Math.max(rank, 1) - 1];
+
+        }
+
+    }
+
+}
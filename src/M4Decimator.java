@@ -0,0 +1,145 @@
+/**
+ * M4 decimation of polylines
+ * every pixel column keeps its first, minimum, maximum and last points,
+ * which draws the same pixels as the full polyline with at most four points per column,
+ * long windows are decimated from a segment tree without visiting every point
+ *
+ * @author Xudong Wang (xwang199@sheffield.ac.uk)
+ * @version 1.0 18 October 2026
+ */
+
+
+class M4Decimator {
+
+    /**
+     * Get the output capacity needed for a polyline
+     *
+     * @param count   number of input points
+     * @param columns number of pixel columns the polyline spans
+     * @return maximum number of output points
+     */
+    static int capacity(int count, int columns) {
+        return Math.min(count, 4 * (columns + 1));
+    }
+
+    /**
+     * Decimate polyline whose x coordinates are in ascending order
+     *
+     * @param xPoints input x coordinates
+     * @param yPoints input y coordinates
+     * @param count   number of input points
+     * @param outX    output x coordinates
+     * @param outY    output y coordinates
+     * @return number of output points
+     */
+    static int decimate(int[] xPoints, int[] yPoints, int count, int[] outX, int[] outY) {
+
+        int size = 0;
+        int start = 0;
+
+        while (start < count) {
+
+            int x = xPoints[start];
+
+            // indices of minimum and maximum y in this column
+            int minIndex = start;
+            int maxIndex = start;
+            int end = start + 1;
+
+            while (end < count && xPoints[end] == x) {
+                if (yPoints[end] < yPoints[minIndex]) {
+                    minIndex = end;
+                }
+                if (yPoints[end] > yPoints[maxIndex]) {
+                    maxIndex = end;
+                }
+                end++;
+            }
+
+            int last = end - 1;
+
+            // emit first, min, max, last in index order without duplicates
+            int lower = Math.min(minIndex, maxIndex);
+            int upper = Math.max(minIndex, maxIndex);
+
+            size = append(outX, outY, size, x, yPoints[start]);
+
+            if (lower != start) {
+                size = append(outX, outY, size, x, yPoints[lower]);
+            }
+            if (upper != lower && upper != start) {
+                size = append(outX, outY, size, x, yPoints[upper]);
+            }
+            if (last != upper && last != start) {
+                size = append(outX, outY, size, x, yPoints[last]);
+            }
+
+            start = end;
+
+        }
+
+        return size;
+
+    }
+
+    /**
+     * Decimate window of a data column into buckets of consecutive indices
+     * the minimum and maximum of each bucket are found in O(log n)
+     *
+     * @param tree       segment tree of the data column
+     * @param from       first index of window, inclusive
+     * @param to         last index of window, exclusive
+     * @param buckets    number of buckets, usually the pixel columns of the window
+     * @param outIndices output data indices in ascending order, at least 4 * buckets long
+     * @return number of output indices
+     */
+    static int decimate(MinMaxSegmentTree tree, int from, int to, int buckets, int[] outIndices) {
+
+        int size = 0;
+        long count = to - from;
+
+        for (int bucket = 0; bucket < buckets; bucket++) {
+
+            int start = from + (int) (count * bucket / buckets);
+            int end = from + (int) (count * (bucket + 1) / buckets);
+
+            if (start >= end) {
+                continue;
+            }
+
+            int minIndex = tree.indexOfMin(start, end);
+            int maxIndex = tree.indexOfMax(start, end);
+            int last = end - 1;
+
+            // emit first, min, max, last in index order without duplicates
+            int lower = Math.min(minIndex, maxIndex);
+            int upper = Math.max(minIndex, maxIndex);
+
+            outIndices[size++] = start;
+
+            if (lower != start) {
+                outIndices[size++] = lower;
+            }
+            if (upper != lower && upper != start) {
+                outIndices[size++] = upper;
+            }
+            if (last != upper && last != start) {
+                outIndices[size++] = last;
+            }
+
+        }
+
+        return size;
+
+    }
+
+    private static int append(int[] outX, int[] outY, int size, int x, int y) {
+
+        outX[size] = x;
+        outY[size] = y;
+
+        return size + 1;
+
+    }
+
+}
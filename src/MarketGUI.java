@@ -2,13 +2,14 @@ import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
 import javafx.application.Application;
 import javafx.application.Platform;
-import javafx.geometry.HPos;
 import javafx.geometry.Insets;
+import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.DatePicker;
 import javafx.scene.control.Label;
 import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.Text;
@@ -16,12 +17,13 @@ import javafx.stage.Stage;
 import javafx.util.Duration;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.Calendar;
-import java.util.List;
 import java.util.SortedMap;
 import java.util.TreeMap;
 
@@ -36,6 +38,8 @@ import java.util.TreeMap;
  * the program should retrieve the historical data that is designated.
  * The retrieved data is displayed on a new window with four line chart graphs.
  * The line chart graph traces the mouse position to display appropriate details.
+ * In live mode, ticks appended to a local file are plotted as they arrive.
+ * Several symbols separated by commas are compared in one chart.
  * <p>
  * MarketGUI class
  * main class is the main class of the program.
@@ -56,26 +60,33 @@ public class MarketGUI extends Application {
     // variable to represent the date of today
     private static final LocalDate today = LocalDate.now();
 
-    // prefix tree to store ticker symbols and company names
-    // key: ticker symbol value: ticker symbol - company name
-    private static SortedMap<String, String> symbolMap = new TreeMap<>();
+    // prefix index of ticker symbols and company names
+    // replaced on the JavaFX application thread whenever a newer symbol list is loaded
+    private static PrefixIndex symbolIndex = getSampleSymbolIndex();
+
+    // parser shared by all retrievals, safe for concurrent use
+    private static final DataParser dataParser = new DataParser();
 
     // constant variables
     private static final String APPLICATION_TITLE = "Nasdaq Stock Viewer";
     private static final String SYMBOL_FILE_PATH = "nasdaq-listed-symbols.csv";
-    private static final String SYMBOL_FILE_URL = "https://datahub.io/core/nasdaq-listings/r/nasdaq-listed-symbols.csv";
-    private static final String STOCK_URL_TEMPLATE = "https://quotes.wsj.com/%s/historical-prices/download?MOD_VIEW=page&num_rows=%s&startDate=%s&endDate=%s";
+    private static final String SYMBOL_SNAPSHOT_PATH = "nasdaq-listed-symbols.bin";
+    private static final String DEFAULT_SYMBOL_FILE_URL = "https://datahub.io/core/nasdaq-listings/r/nasdaq-listed-symbols.csv";
+
+    // listing like 'Symbol,Company Name', e.g. -Dstockviewer.symbolUrl=http://localhost:8080/symbols.csv
+    private static final String SYMBOL_FILE_URL = System.getProperty("stockviewer.symbolUrl", DEFAULT_SYMBOL_FILE_URL);
+
+    // live ticks of a symbol are read from 'stream/SYMBOL.csv'
+    private static final String STREAM_DIRECTORY = "stream";
+    private static final String STREAM_FILE_EXTENSION = ".csv";
 
     /**
      * Start of JavaFX application
      *
      * @param primaryStage stage of the main window
-     * @throws IOException if initialisation failed
      */
     @Override
-    public void start(Stage primaryStage) throws IOException {
-
-        initialise();
+    public void start(Stage primaryStage) {
 
         // components on the main window are arranged in a 4 * 3 layout via GridPane
         GridPane gridPane = new GridPane();
@@ -95,7 +106,7 @@ public class MarketGUI extends Application {
         gridPane.add(symbolHintText, 0, 0);
 
         // autocomplete text field with prompt text displayed when losing focus
-        AutoCompleteTextField symbolSearchTextFiled = new AutoCompleteTextField(symbolMap);
+        AutoCompleteTextField symbolSearchTextFiled = new AutoCompleteTextField(symbolIndex);
         symbolSearchTextFiled.setPromptText("e.g. AAPL");
         GridPane.setMargin(symbolSearchTextFiled, fieldMargin);
         gridPane.add(symbolSearchTextFiled, 0, 1);
@@ -148,7 +159,7 @@ public class MarketGUI extends Application {
                 // empty ticker symbol
                 errorMessageLabel.setText("EMPTY TICKER SYMBOL");
                 shakeStage(primaryStage);
-            } else if (!symbolMap.containsKey(symbol)) {
+            } else if (!symbolIndex.contains(symbol)) {
                 // ticker symbol parsed is not on Nasdaq ticker symbol list
                 errorMessageLabel.setText("NOT FOUND ON NASDAQ");
                 shakeStage(primaryStage);
@@ -159,18 +170,95 @@ public class MarketGUI extends Application {
             } else {
                 // clear error message
                 errorMessageLabel.setText("");
-                // start new thread to retrieve stock market data
-                Thread downloadThread = new Thread(new DataDownloadTask(symbol, startDate, endDate));
-                downloadThread.start();
+                // retrieve stock market data on the bounded pool, then plot the data
+                // clicking again before the window opens does not open another one
+                RetrievalService.retrieveThen(
+                        symbol,
+                        startDate,
+                        endDate,
+                        series -> dataParser.parseData(symbol, startDate, endDate, series)
+                ).exceptionally(throwable -> {
+                    // data retrieval failed
+                    throwable.printStackTrace();
+                    return null;
+                });
+            }
+
+        });
+
+        // compare button, plots symbols like 'AAPL, MSFT, FB' in one chart
+        Button compareButton = new Button("Compare");
+        compareButton.setOnAction(e -> {
+
+            String[] symbols = symbolSearchTextFiled.getText().split(",");
+
+            for (int i = 0; i < symbols.length; i++) {
+                // each item may be like 'TICKER_SYMBOL - company_name'
+                String[] words = symbols[i].trim().split(" ");
+                symbols[i] = words[0].toUpperCase();
+            }
+
+            LocalDate startDate = startDatePicker.getValue();
+            LocalDate endDate = endDatePicker.getValue();
+
+            if (symbols.length < 2) {
+                // nothing to compare with
+                errorMessageLabel.setText("SEPARATE SYMBOLS BY COMMAS");
+                shakeStage(primaryStage);
+            } else if (!containsAll(symbols)) {
+                // one of ticker symbols parsed is not on Nasdaq ticker symbol list
+                errorMessageLabel.setText("NOT FOUND ON NASDAQ");
+                shakeStage(primaryStage);
+            } else if (!isValidDate(startDate, endDate)) {
+                // invalid start date and/or end date
+                errorMessageLabel.setText("INVALID DATE SELECTION");
+                shakeStage(primaryStage);
+            } else {
+                // clear error message
+                errorMessageLabel.setText("");
+                // retrieve all symbols concurrently, then plot them together
+                RetrievalService.retrieveAllThen(
+                        symbols,
+                        startDate,
+                        endDate,
+                        seriesList -> dataParser.compareData(symbols, startDate, endDate, seriesList)
+                ).exceptionally(throwable -> {
+                    // data retrieval failed
+                    throwable.printStackTrace();
+                    return null;
+                });
             }
 
         });
 
-        // set the retrieve button in the centre horizontally
-        GridPane.setHalignment(retrieveButton, HPos.CENTER);
-        GridPane.setMargin(retrieveButton, new Insets(5, 0, 10, 0));
-        // set span of the retrieve button is 3 columns
-        gridPane.add(retrieveButton, 0, 3, 3, 1);
+        // live button, plots ticks of the symbol as they arrive
+        Button liveButton = new Button("Live");
+        liveButton.setOnAction(e -> {
+
+            String symbol = symbolSearchTextFiled.getText().split(" ")[0].toUpperCase();
+
+            if (symbol.length() == 0) {
+                // empty ticker symbol
+                errorMessageLabel.setText("EMPTY TICKER SYMBOL");
+                shakeStage(primaryStage);
+            } else if (!symbolIndex.contains(symbol)) {
+                // ticker symbol parsed is not on Nasdaq ticker symbol list
+                errorMessageLabel.setText("NOT FOUND ON NASDAQ");
+                shakeStage(primaryStage);
+            } else {
+                // clear error message
+                errorMessageLabel.setText("");
+                dataParser.streamData(symbol, Paths.get(STREAM_DIRECTORY, symbol + STREAM_FILE_EXTENSION));
+            }
+
+        });
+
+        // set the buttons in the centre horizontally
+        HBox buttonBox = new HBox(10, retrieveButton, compareButton, liveButton);
+        buttonBox.setAlignment(Pos.CENTER);
+        GridPane.setMargin(buttonBox, new Insets(5, 0, 10, 0));
+        // set span of the buttons is 3 columns
+        gridPane.add(buttonBox, 0, 3, 3, 1);
 
         // add GridPane to the scene
         Scene scene = new Scene(gridPane);
@@ -191,37 +279,125 @@ public class MarketGUI extends Application {
 
         primaryStage.show();
 
+        // load symbol list after the window is shown
+        initialise(symbolSearchTextFiled);
+
+    }
+
+    /**
+     * Ticker symbol list loading function
+     * runs in background, the local snapshot is published first,
+     * the listing is downloaded and parsed again only if it changed on the server
+     *
+     * @param symbolSearchTextFiled autocomplete text field to receive the symbol list
+     */
+    private void initialise(AutoCompleteTextField symbolSearchTextFiled) {
+
+        Thread loadingThread = new Thread(() -> {
+
+            Path snapshotPath = Paths.get(SYMBOL_SNAPSHOT_PATH);
+            SymbolSnapshot snapshot = null;
+
+            try {
+                if (Files.isRegularFile(snapshotPath)) {
+                    // local snapshot from last launch
+                    try {
+                        snapshot = SymbolSnapshot.read(snapshotPath);
+                    } catch (IOException | RuntimeException e) {
+                        e.printStackTrace();
+                    }
+                    if (snapshot == null) {
+                        // unreadable snapshot, the listing is downloaded unconditionally
+                        Files.deleteIfExists(snapshotPath);
+                    }
+                }
+                if (snapshot != null) {
+                    publishSymbolIndex(snapshot, symbolSearchTextFiled);
+                }
+
+                // conditional request with validators of the snapshot
+                HttpDownloader.Result result = HttpDownloader.downloadIfModified(
+                        SYMBOL_FILE_PATH,
+                        SYMBOL_FILE_URL,
+                        snapshot == null ? null : snapshot.getETag(),
+                        snapshot == null ? null : snapshot.getLastModified()
+                );
+
+                if (result.getStatusCode() == HttpDownloader.HTTP_OK) {
+                    // listing changed, parse it once and keep the snapshot only
+                    snapshot = SymbolSnapshot.fromCSV(SYMBOL_FILE_PATH, result.getETag(), result.getLastModified());
+                    snapshot.write(snapshotPath);
+                    Files.deleteIfExists(Paths.get(SYMBOL_FILE_PATH));
+                    publishSymbolIndex(snapshot, symbolSearchTextFiled);
+                }
+            } catch (IOException e) {
+                // keep the symbol list loaded so far
+                e.printStackTrace();
+            }
+
+        }, "symbol-loader");
+
+        // the loading thread never keeps the application alive
+        loadingThread.setDaemon(true);
+        loadingThread.start();
+
+    }
+
+    /**
+     * Index loaded symbol list and hand it to the JavaFX application thread
+     *
+     * @param snapshot              symbol list
+     * @param symbolSearchTextFiled autocomplete text field to receive the symbol list
+     */
+    private static void publishSymbolIndex(SymbolSnapshot snapshot, AutoCompleteTextField symbolSearchTextFiled) {
+
+        if (snapshot.size() == 0) {
+            // keep current list for an empty file
+            return;
+        }
+
+        // index is built on the loading thread
+        PrefixIndex index = new PrefixIndex(snapshot);
+
+        Platform.runLater(() -> {
+            symbolIndex = index;
+            symbolSearchTextFiled.setSymbolIndex(index);
+        });
+
+    }
+
+    /**
+     * Get a few samples, used until the symbol list is loaded
+     *
+     * @return prefix index of sample symbols
+     */
+    private static PrefixIndex getSampleSymbolIndex() {
+
+        SortedMap<String, String> map = new TreeMap<>();
+        map.put("FB", "Facebook, Inc.");
+        map.put("AAPL", "Apple Inc.");
+        map.put("MSFT", "Microsoft Corporation");
+
+        return new PrefixIndex(SymbolSnapshot.of(map, "", ""));
+
     }
 
     /**
-     * Ticker symbol list download function
-     * the main thread is blocked until this function is finished
+     * Check every symbol is on the symbol list
      *
-     * @throws IOException if download or parsing failed
+     * @param symbols ticker symbols
+     * @return boolean true if all symbols are found
      */
-    private void initialise() throws IOException {
-
-        if (Util.downloadFile(SYMBOL_FILE_PATH, SYMBOL_FILE_URL)) {
-            // file download succeeded, parse csv file to get a list of string list
-            List<List<String>> symbolCollection = Util.splitCSVFile(SYMBOL_FILE_PATH);
-
-            symbolCollection.forEach(line -> {
-                // get ticker symbol from first column
-                String symbol = line.get(0);
-                // remove redundant double quotes in the second column
-                String name = symbol + " - " + line.get(1).replace("\"", "");
-                // put symbol and stitched string into the prefix tree
-                symbolMap.put(symbol, name);
-            });
-
-        } else {
-            // file download failed, put some samples into the prefix tree
-            symbolMap.put("FB", "FB - Facebook, Inc.");
-            symbolMap.put("AAPL", "AAPL - Apple Inc.");
-            symbolMap.put("MSFT", "MSFT - Microsoft Corporation");
+    private static boolean containsAll(String[] symbols) {
 
+        for (String symbol : symbols) {
+            if (symbol.length() == 0 || !symbolIndex.contains(symbol)) {
+                return false;
+            }
         }
 
+        return true;
+
     }
 
     /**
@@ -278,99 +454,6 @@ public class MarketGUI extends Application {
 
     }
 
-    /**
-     * Data download task thread
-     */
-    private class DataDownloadTask implements Runnable {
-
-        private String symbol;
-        private LocalDate startDate;
-        private LocalDate endDate;
-
-        /**
-         * Class constructor
-         *
-         * @param symbol    ticker symbol
-         * @param startDate start date
-         * @param endDate   end date
-         */
-        DataDownloadTask(String symbol, LocalDate startDate, LocalDate endDate) {
-
-            this.symbol = symbol;
-            this.startDate = startDate;
-            this.endDate = endDate;
-
-        }
-
-        /**
-         * Main task to run
-         */
-        public void run() {
-
-            // format date to '30_12_2018'
-            DateTimeFormatter dateFormatterUK = DateTimeFormatter.ofPattern("dd_MM_uuuu");
-            // format date to '12/30/2018'
-            DateTimeFormatter dateFormatterUS = DateTimeFormatter.ofPattern("MM/dd/uuuu");
-
-            String startDateUK = startDate.format(dateFormatterUK);
-            String endDateUK = endDate.format(dateFormatterUK);
-
-            // format the Wall Street Journal quoting URL
-            String url = String.format(
-                    STOCK_URL_TEMPLATE,
-                    symbol,
-                    Long.toString(ChronoUnit.DAYS.between(startDate, endDate)),
-                    startDate.format(dateFormatterUS),
-                    endDate.format(dateFormatterUS)
-            );
-
-            // format data filename
-            String filePath = symbol + "_" + startDateUK + "_" + endDateUK + ".csv";
-
-            try {
-                if (Util.downloadFile(filePath, url)) {
-                    // data download succeeded
-                    // start new thread to plot the data
-                    Thread plotThread = new Thread(new PlottingTask(filePath));
-                    plotThread.start();
-                }
-            } catch (IOException e) {
-                // data download failed
-                e.printStackTrace();
-            }
-        }
-    }
-
-    /**
-     * Plotting task thread
-     */
-    private static class PlottingTask implements Runnable {
-
-        private String filePath;
-
-        /**
-         * Class constructor
-         *
-         * @param filePath file path to parse data
-         */
-        PlottingTask(String filePath) {
-            this.filePath = filePath;
-        }
-
-        /**
-         * Main task to run
-         */
-        public void run() {
-            try {
-                // parse CSV file downloaded
-                DataParser.parseData(filePath);
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
-        }
-
-    }
-
     /**
      * Main function of the program
      *
@@ -0,0 +1,133 @@
+/**
+ * Range minimum and maximum segment tree over a primitive column
+ * built once in O(n), the indices of the minimum and maximum of any window are found in O(log n),
+ * NaN values such as indicator warm-up periods are ignored
+ *
+ * @author Xudong Wang (xwang199@sheffield.ac.uk)
+ * @version 1.0 18 October 2026
+ */
+
+
+class MinMaxSegmentTree {
+
+    private final double[] values;
+    private final int offset;
+    private final int size;
+
+    // node i covers nodes 2i and 2i + 1, leaves start at size
+    // each node keeps the index of the minimum or maximum value it covers
+    private final int[] minIndices;
+    private final int[] maxIndices;
+
+    /**
+     * Class constructor
+     *
+     * @param values data column, shared and not to be modified
+     * @param offset index of the first value in the column
+     * @param size   number of values
+     */
+    MinMaxSegmentTree(double[] values, int offset, int size) {
+
+        this.values = values;
+        this.offset = offset;
+        this.size = size;
+        this.minIndices = new int[2 * size];
+        this.maxIndices = new int[2 * size];
+
+        for (int i = 0; i < size; i++) {
+            minIndices[size + i] = i;
+            maxIndices[size + i] = i;
+        }
+
+        for (int i = size - 1; i > 0; i--) {
+            minIndices[i] = minIndex(minIndices[2 * i], minIndices[2 * i + 1]);
+            maxIndices[i] = maxIndex(maxIndices[2 * i], maxIndices[2 * i + 1]);
+        }
+
+    }
+
+    /**
+     * Get index of the minimum value in [from, to), relative to the offset
+     * the earliest one is returned for equal values
+     *
+     * @param from first index, inclusive
+     * @param to   last index, exclusive, greater than from
+     * @return index of minimum, the value is NaN only if all values are NaN
+     */
+    int indexOfMin(int from, int to) {
+
+        int result = from;
+
+        for (int left = from + size, right = to + size; left < right; left >>= 1, right >>= 1) {
+            if ((left & 1) == 1) {
+                result = minIndex(result, minIndices[left++]);
+            }
+            if ((right & 1) == 1) {
+                result = minIndex(result, minIndices[--right]);
+            }
+        }
+
+        return result;
+
+    }
+
+    /**
+     * Get index of the maximum value in [from, to), relative to the offset
+     * the earliest one is returned for equal values
+     *
+     * @param from first index, inclusive
+     * @param to   last index, exclusive, greater than from
+     * @return index of maximum, the value is NaN only if all values are NaN
+     */
+    int indexOfMax(int from, int to) {
+
+        int result = from;
+
+        for (int left = from + size, right = to + size; left < right; left >>= 1, right >>= 1) {
+            if ((left & 1) == 1) {
+                result = maxIndex(result, maxIndices[left++]);
+            }
+            if ((right & 1) == 1) {
+                result = maxIndex(result, maxIndices[--right]);
+            }
+        }
+
+        return result;
+
+    }
+
+    private int minIndex(int a, int b) {
+
+        double valueA = values[offset + a];
+        double valueB = values[offset + b];
+
+        if (Double.isNaN(valueA) != Double.isNaN(valueB)) {
+            return Double.isNaN(valueA) ? b : a;
+        }
+
+        if (valueA != valueB && !Double.isNaN(valueA)) {
+            return valueA < valueB ? a : b;
+        }
+
+        return Math.min(a, b);
+
+    }
+
+    private int maxIndex(int a, int b) {
+
+        double valueA = values[offset + a];
+        double valueB = values[offset + b];
+
+        if (Double.isNaN(valueA) != Double.isNaN(valueB)) {
+            return Double.isNaN(valueA) ? b : a;
+        }
+
+        if (valueA != valueB && !Double.isNaN(valueA)) {
+            return valueA > valueB ? a : b;
+        }
+
+        return Math.min(a, b);
+
+    }
+
+}
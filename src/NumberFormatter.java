@@ -0,0 +1,187 @@
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+
+/**
+ * Number formatter writing digits straight into a StringBuilder
+ * stateless, so it is safe to call from download, parse and paint threads at the same time,
+ * nothing is allocated except when the caller's builder grows
+ *
+ * @author Xudong Wang (xwang199@sheffield.ac.uk)
+ * @version 1.0 18 October 2026
+ */
+
+
+class NumberFormatter {
+
+    // values at or above are written by Double.toString, their cents do not fit in a long
+    private static final double MAX_GROUPED_VALUE = 1e15;
+
+    private static final String[] SUFFIXES = {" K", " M", " B"};
+    private static final double[] SCALES = {1e3, 1e6, 1e9};
+
+    // a scaled product this close to a half, relative to its size, may be a rounding error away from the other side
+    private static final double TIE_TOLERANCE = 0x1p-50;
+
+    /**
+     * Append grouped integer or grouped price with at most two decimals
+     * e.g. 123456      =>  123,456
+     * e.g. 123456.70   =>  123,456.7
+     * e.g. 123456.789  =>  123,456.79
+     *
+     * @param builder to append to
+     * @param value   to be formatted
+     * @return the builder
+     */
+    static StringBuilder append(StringBuilder builder, double value) {
+
+        if (Double.isNaN(value) || Double.isInfinite(value) || Math.abs(value) >= MAX_GROUPED_VALUE) {
+            return builder.append(value);
+        }
+
+        if (value % 1 == 0) {
+            // value is a integer
+            return appendGrouped(builder, (long) value);
+        }
+
+        long cents = roundCents(Math.abs(value));
+
+        if (value < 0 && cents != 0) {
+            builder.append('-');
+        }
+
+        appendGrouped(builder, cents / 100);
+        builder.append('.');
+
+        int fraction = (int) (cents % 100);
+        builder.append((char) ('0' + fraction / 10));
+
+        if (fraction % 10 != 0) {
+            // value is like '123.40', the redundant 0 is left out
+            builder.append((char) ('0' + fraction % 10));
+        }
+
+        return builder;
+
+    }
+
+    /**
+     * Append value in unit unified by min value
+     * e.g. 12345678  =>  12.3 M
+     *
+     * @param builder to append to
+     * @param value   to be formatted
+     * @param min     value
+     * @return the builder
+     */
+    static StringBuilder append(StringBuilder builder, double value, double min) {
+
+        if (min < 1e3 || Double.isNaN(value) || Double.isInfinite(value)) {
+            // min < 1,000
+            return append(builder, value);
+        }
+
+        // K for min < 1,000,000, M for min < 1,000,000,000, B otherwise
+        int unit = min < 1e6 ? 0 : min < 1e9 ? 1 : 2;
+
+        double scaled = value / SCALES[unit];
+
+        if (Math.abs(scaled) >= MAX_GROUPED_VALUE) {
+            return builder.append(scaled).append(SUFFIXES[unit]);
+        }
+
+        long tenths = roundTenths(Math.abs(scaled));
+
+        if (scaled < 0 && tenths != 0) {
+            builder.append('-');
+        }
+
+        return builder
+                .append(tenths / 10)
+                .append('.')
+                .append((char) ('0' + tenths % 10))
+                .append(SUFFIXES[unit]);
+
+    }
+
+    /**
+     * Round to cents half to even on the exact binary value, as DecimalFormat does
+     * e.g. 36.235 is stored as 36.2349999.. and rounds to 36.23
+     *
+     * @param value not negative
+     * @return value in cents
+     */
+    private static long roundCents(double value) {
+
+        double scaled = value * 100;
+
+        if (Math.abs(scaled - Math.floor(scaled) - 0.5) > scaled * TIE_TOLERANCE) {
+            // far from a tie, the rounded product falls on the same side as the exact one
+            return (long) Math.rint(scaled);
+        }
+
+        return new BigDecimal(value).setScale(2, RoundingMode.HALF_EVEN).movePointRight(2).longValue();
+
+    }
+
+    /**
+     * Round to tenths half up on the shortest decimal form, as String.format does
+     * e.g. 1.45 is stored as 1.4500000000000000177.. but printed as 1.45 and rounds to 1.5
+     *
+     * @param value not negative
+     * @return value in tenths
+     */
+    private static long roundTenths(double value) {
+
+        double scaled = value * 10;
+
+        if (Math.abs(scaled - Math.floor(scaled) - 0.5) > scaled * TIE_TOLERANCE) {
+            // far from a tie, the rounded product falls on the same side as the decimal form
+            return (long) Math.floor(scaled + 0.5);
+        }
+
+        return BigDecimal.valueOf(value).setScale(1, RoundingMode.HALF_UP).movePointRight(1).longValue();
+
+    }
+
+    /**
+     * Append integer with comma every three digits
+     *
+     * @param builder to append to
+     * @param value   to be formatted
+     * @return the builder
+     */
+    static StringBuilder appendGrouped(StringBuilder builder, long value) {
+
+        if (value < 0) {
+            builder.append('-');
+            value = -value;
+        }
+
+        // largest power of thousand not above value
+        long group = 1;
+        while (group <= value / 1000) {
+            group *= 1000;
+        }
+
+        // first group without leading zeros
+        builder.append(value / group);
+
+        while (group > 1) {
+
+            value %= group;
+            group /= 1000;
+
+            long digits = value / group;
+            builder.append(',')
+                    .append((char) ('0' + digits / 100))
+                    .append((char) ('0' + digits / 10 % 10))
+                    .append((char) ('0' + digits % 10));
+
+        }
+
+        return builder;
+
+    }
+
+}
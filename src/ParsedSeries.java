@@ -0,0 +1,56 @@
+import java.util.Collections;
+import java.util.List;
+
+
+/**
+ * Result of parsing a series for display
+ * holds the retrieved columns with their computed indicators,
+ * nothing is modified after construction, so it can be handed between threads freely
+ *
+ * @author Xudong Wang (xwang199@sheffield.ac.uk)
+ * @version 1.0 18 October 2026
+ */
+
+
+class ParsedSeries {
+
+    private final PriceSeries series;
+
+    // computed indicators drawn on the close chart
+    private final List<Indicator> indicators;
+
+    /**
+     * Class constructor
+     *
+     * @param series     retrieved data
+     * @param indicators computed indicators, not appended afterwards
+     */
+    ParsedSeries(PriceSeries series, List<Indicator> indicators) {
+
+        this.series = series;
+        this.indicators = Collections.unmodifiableList(indicators);
+
+    }
+
+    /**
+     * @return retrieved data
+     */
+    PriceSeries getSeries() {
+        return series;
+    }
+
+    /**
+     * @return number of rows
+     */
+    int size() {
+        return series.size();
+    }
+
+    /**
+     * @return computed indicators, read only
+     */
+    List<Indicator> getIndicators() {
+        return indicators;
+    }
+
+}
@@ -13,38 +13,51 @@ import java.util.List;
 
 class PlotFrame extends JFrame {
 
+    private static final long serialVersionUID = 1L;
+
     private static final int FRAME_WIDTH = 1440;
     private static final int FRAME_HEIGHT = 900;
 
-    PlotFrame(String title, List<LineChartPanel> panels) {
-
-        // the width of panel is half width of the window
-        // so does the height of panel
+    /**
+     * Class constructor
+     *
+     * @param title   of the window
+     * @param panels  chart panels
+     * @param rows    of the layout
+     * @param columns of the layout
+     */
+    PlotFrame(String title, List<? extends JPanel> panels, int rows, int columns) {
+
+        // the width of panel is half width of the 2 * 2 window
+        // so does the height of panel, more than two rows share the height of the window
         int panelWidth = FRAME_WIDTH / 2;
-        int panelHeight = FRAME_HEIGHT / 2;
+        int panelHeight = FRAME_HEIGHT / Math.max(rows, 2);
 
         Dimension panelDimension = new Dimension(panelWidth, panelHeight);
 
-        for (LineChartPanel panel : panels) {
+        for (JPanel panel : panels) {
             // set panel width and height
             panel.setPreferredSize(panelDimension);
             this.add(panel);
         }
 
-        // four panels are arranged in a 2 * 2 layout via GridLayout
-        GridLayout gridLayout = new GridLayout(2, 2);
+        // panels are arranged in a rows * columns layout via GridLayout
+        GridLayout gridLayout = new GridLayout(rows, columns);
         this.setLayout(gridLayout);
 
-        this.setSize(FRAME_WIDTH, FRAME_HEIGHT);
+        int frameWidth = panelWidth * columns;
+        int frameHeight = panelHeight * rows;
+
+        this.setSize(frameWidth, frameHeight);
         Dimension actualSize = getContentPane().getSize();
 
         // get size of title bar and border
-        int extraWidth = FRAME_WIDTH - actualSize.width;
-        int extraHeight = FRAME_HEIGHT - actualSize.height;
+        int extraWidth = frameWidth - actualSize.width;
+        int extraHeight = frameHeight - actualSize.height;
 
         // set the window size with extra size
-        // to make sure the window's real display area is FRAME_WIDTH * FRAME_HEIGHT
-        this.setSize(FRAME_WIDTH + extraWidth, FRAME_HEIGHT + extraHeight);
+        // to make sure the window's real display area is frameWidth * frameHeight
+        this.setSize(frameWidth + extraWidth, frameHeight + extraHeight);
 
         this.setTitle(title);
 
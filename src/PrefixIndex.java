@@ -0,0 +1,216 @@
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Immutable prefix index of ticker symbols and company name tokens
+ * both are sorted arrays searched by binary search, a lookup writes matched symbol indices
+ * into a buffer given by the caller and allocates nothing
+ *
+ * @author Xudong Wang (xwang199@sheffield.ac.uk)
+ * @version 1.0 18 October 2026
+ */
+
+
+class PrefixIndex {
+
+    private final SymbolSnapshot snapshot;
+
+    // ticker symbols in ascending order, shared with the snapshot
+    private final String[] symbols;
+
+    // upper case tokens of company names in ascending order
+    // tokenSymbols[i] is the symbol index of tokens[i]
+    private final String[] tokens;
+    private final int[] tokenSymbols;
+
+    /**
+     * Class constructor
+     *
+     * @param snapshot symbol list with symbols in ascending order
+     */
+    PrefixIndex(SymbolSnapshot snapshot) {
+
+        this.snapshot = snapshot;
+        this.symbols = snapshot.getSymbols();
+
+        List<Token> tokenList = new ArrayList<>();
+
+        for (int i = 0; i < snapshot.size(); i++) {
+            // e.g. 'Apple Inc.' => APPLE, INC
+            for (String token : snapshot.getName(i).toUpperCase().split("[^A-Z0-9]+")) {
+                if (!token.isEmpty()) {
+                    tokenList.add(new Token(token, i));
+                }
+            }
+        }
+
+        // sort by token, then by symbol
+        tokenList.sort((a, b) -> {
+            int result = a.text.compareTo(b.text);
+            return result != 0 ? result : Integer.compare(a.symbolIndex, b.symbolIndex);
+        });
+
+        this.tokens = new String[tokenList.size()];
+        this.tokenSymbols = new int[tokenList.size()];
+
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = tokenList.get(i).text;
+            tokenSymbols[i] = tokenList.get(i).symbolIndex;
+        }
+
+    }
+
+    /**
+     * Find symbols by prefix
+     * symbols starting with the prefix come first, then symbols whose company name has a word starting with it
+     *
+     * @param prefix  upper case text
+     * @param results buffer of matched symbol indices
+     * @return number of matches written, at most results.length
+     */
+    int find(CharSequence prefix, int[] results) {
+
+        int count = 0;
+
+        if (prefix.length() == 0) {
+            return 0;
+        }
+
+        // ticker symbol prefix
+        int from = lowerBound(symbols, prefix);
+
+        for (int i = from; i < symbols.length && count < results.length; i++) {
+            if (comparePrefix(symbols[i], prefix) != 0) {
+                break;
+            }
+            results[count++] = i;
+        }
+
+        // company name token prefix
+        from = lowerBound(tokens, prefix);
+
+        for (int i = from; i < tokens.length && count < results.length; i++) {
+
+            if (comparePrefix(tokens[i], prefix) != 0) {
+                break;
+            }
+
+            if (!contains(results, count, tokenSymbols[i])) {
+                results[count++] = tokenSymbols[i];
+            }
+
+        }
+
+        return count;
+
+    }
+
+    /**
+     * Check ticker symbol
+     *
+     * @param symbol upper case ticker symbol
+     * @return true if the symbol is in the index
+     */
+    boolean contains(String symbol) {
+
+        int index = lowerBound(symbols, symbol);
+
+        return index < symbols.length && symbols[index].equals(symbol);
+
+    }
+
+    /**
+     * @param index of symbol
+     * @return ticker symbol
+     */
+    String getSymbol(int index) {
+        return symbols[index];
+    }
+
+    /**
+     * Get display text like 'AAPL - Apple Inc.'
+     *
+     * @param index of symbol
+     * @return display text
+     */
+    String getDisplayText(int index) {
+        return symbols[index] + " - " + snapshot.getName(index);
+    }
+
+    /**
+     * Binary search the first key not before the prefix
+     *
+     * @param keys   sorted keys to search
+     * @param prefix text
+     * @return index of first key not before the prefix
+     */
+    private static int lowerBound(String[] keys, CharSequence prefix) {
+
+        int low = 0;
+        int high = keys.length;
+
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (comparePrefix(keys[middle], prefix) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+
+    }
+
+    /**
+     * Compare key with prefix range
+     *
+     * @param key    text
+     * @param prefix text
+     * @return negative if key is before all keys starting with prefix, 0 if key starts with prefix, positive if after
+     */
+    private static int comparePrefix(String key, CharSequence prefix) {
+
+        int length = Math.min(key.length(), prefix.length());
+
+        for (int i = 0; i < length; i++) {
+            int difference = key.charAt(i) - prefix.charAt(i);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+
+        // shorter key is before the prefix
+        return key.length() < prefix.length() ? -1 : 0;
+
+    }
+
+    private static boolean contains(int[] array, int length, int value) {
+
+        for (int i = 0; i < length; i++) {
+            if (array[i] == value) {
+                return true;
+            }
+        }
+
+        return false;
+
+    }
+
+    /**
+     * Word of a company name, only used while building the index
+     */
+    private static class Token {
+
+        private final String text;
+        private final int symbolIndex;
+
+        Token(String text, int symbolIndex) {
+            this.text = text;
+            this.symbolIndex = symbolIndex;
+        }
+
+    }
+
+}
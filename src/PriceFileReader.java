@@ -0,0 +1,314 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+
+/**
+ * Memory-mapped reader of price CSV files
+ * the file is tokenized in place, dates and decimals are parsed straight from the bytes
+ * and written into the columns of a PriceSeries without any intermediate String
+ *
+ * @author Xudong Wang (xwang199@sheffield.ac.uk)
+ * @version 1.0 18 October 2026
+ */
+
+
+class PriceFileReader {
+
+    // number of value columns after the date column
+    private static final int VALUE_COLUMNS = 5;
+
+    // rough length of one line, used to pre-size the columns
+    private static final int ESTIMATED_LINE_LENGTH = 48;
+
+    // exact powers of ten representable by double
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private final ByteBuffer buffer;
+    private final int limit;
+
+    // current read position
+    private int position = 0;
+
+    /**
+     * Class constructor
+     *
+     * @param buffer mapped or heap file content
+     */
+    private PriceFileReader(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.limit = buffer.limit();
+    }
+
+    /**
+     * Read price CSV file like 'Date, Open, High, Low, Close, Volume'
+     * rows can be in either ascending or descending date order
+     *
+     * @param filePath CSV filepath
+     * @return PriceSeries object in ascending date order
+     * @throws IOException if filepath is invalid or the file is malformed
+     */
+    static PriceSeries read(String filePath) throws IOException {
+
+        MappedByteBuffer buffer;
+
+        try (FileChannel fileChannel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+
+            long fileSize = fileChannel.size();
+
+            if (fileSize > Integer.MAX_VALUE) {
+                throw new IOException("File too large to map: " + filePath);
+            }
+
+            // the mapping stays valid after the channel is closed
+            buffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+
+        }
+
+        return new PriceFileReader(buffer).parse();
+
+    }
+
+    /**
+     * Read price CSV content already in memory
+     * suitable for small files deleted right after reading, a mapped file cannot be deleted on Windows
+     *
+     * @param content bytes of the CSV file
+     * @return PriceSeries object in ascending date order
+     * @throws IOException if the content is malformed
+     */
+    static PriceSeries read(byte[] content) throws IOException {
+
+        return new PriceFileReader(ByteBuffer.wrap(content)).parse();
+
+    }
+
+    /**
+     * Tokenize the mapped bytes into columns
+     *
+     * @return PriceSeries object in ascending date order
+     * @throws IOException if a date is malformed
+     */
+    private PriceSeries parse() throws IOException {
+
+        PriceSeries.Builder builder = new PriceSeries.Builder(limit / ESTIMATED_LINE_LENGTH + 1);
+        double[] values = new double[VALUE_COLUMNS];
+
+        // skip header
+        skipLine();
+
+        while (position < limit) {
+
+            skipBlank();
+
+            if (position >= limit || isLineEnd(buffer.get(position))) {
+                // empty line
+                skipLine();
+                continue;
+            }
+
+            int epochDay = parseDate();
+
+            for (int i = 0; i < VALUE_COLUMNS; i++) {
+                // missing value is treated as 0
+                values[i] = nextField() ? parseDecimal() : 0;
+            }
+
+            builder.add(epochDay, values[0], values[1], values[2], values[3], values[4]);
+
+            skipLine();
+
+        }
+
+        return builder.build();
+
+    }
+
+    /**
+     * Parse date like '12/30/2018' at current position
+     *
+     * @return date in epoch days
+     * @throws IOException if the date is malformed
+     */
+    private int parseDate() throws IOException {
+
+        int month = parseInt();
+        expect('/');
+        int day = parseInt();
+        expect('/');
+        int year = parseInt();
+
+        if (!EpochDays.isValid(year, month, day)) {
+            throw new IOException("Invalid date at byte " + position);
+        }
+
+        // arithmetic conversion, no LocalDate is created per row
+        return EpochDays.of(year, month, day);
+
+    }
+
+    /**
+     * Parse unsigned integer at current position
+     *
+     * @return integer value
+     */
+    private int parseInt() {
+
+        int value = 0;
+
+        while (position < limit) {
+            byte b = buffer.get(position);
+            if (b < '0' || b > '9') {
+                break;
+            }
+            value = value * 10 + (b - '0');
+            position++;
+        }
+
+        return value;
+
+    }
+
+    /**
+     * Parse decimal like '-123.45' at current position
+     * up to 15 significant digits are converted from the mantissa directly,
+     * longer values fall back to Double.parseDouble
+     *
+     * @return double value, 0 for empty field
+     */
+    private double parseDecimal() {
+
+        skipBlank();
+
+        int start = position;
+        boolean negative = false;
+
+        if (position < limit && buffer.get(position) == '-') {
+            negative = true;
+            position++;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean fraction = false;
+
+        while (position < limit) {
+
+            byte b = buffer.get(position);
+
+            if (b == '.') {
+                fraction = true;
+            } else if (b >= '0' && b <= '9') {
+                if (digits < 18) {
+                    mantissa = mantissa * 10 + (b - '0');
+                    digits += mantissa == 0 ? 0 : 1;
+                    scale += fraction ? 1 : 0;
+                } else if (!fraction) {
+                    // integer part beyond 18 digits
+                    scale--;
+                }
+            } else {
+                break;
+            }
+
+            position++;
+
+        }
+
+        if (digits > 15 || scale < 0 || scale >= POWERS_OF_TEN.length) {
+            // mantissa may exceed 2^53 or lost digits, rare enough to allocate
+            byte[] bytes = new byte[position - start];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = buffer.get(start + i);
+            }
+            return Double.parseDouble(new String(bytes, StandardCharsets.US_ASCII));
+        }
+
+        // mantissa < 10^15 < 2^53 and the power of ten are exact, so the division is correctly rounded
+        double value = mantissa / POWERS_OF_TEN[scale];
+
+        return negative ? -value : value;
+
+    }
+
+    /**
+     * Move to the start of the next field on the current line
+     *
+     * @return false if the line ends before another field
+     */
+    private boolean nextField() {
+
+        while (position < limit) {
+            byte b = buffer.get(position);
+            if (b == ',') {
+                position++;
+                return true;
+            }
+            if (isLineEnd(b)) {
+                return false;
+            }
+            position++;
+        }
+
+        return false;
+
+    }
+
+    /**
+     * Consume the expected byte, if present
+     *
+     * @param expected byte
+     * @throws IOException if another byte is found
+     */
+    private void expect(char expected) throws IOException {
+
+        if (position >= limit || buffer.get(position) != expected) {
+            throw new IOException("Expected '" + expected + "' at byte " + position);
+        }
+
+        position++;
+
+    }
+
+    /**
+     * Skip spaces, tabs and double quotes
+     */
+    private void skipBlank() {
+
+        while (position < limit) {
+            byte b = buffer.get(position);
+            if (b != ' ' && b != '\t' && b != '"') {
+                break;
+            }
+            position++;
+        }
+
+    }
+
+    /**
+     * Skip to the start of the next line
+     */
+    private void skipLine() {
+
+        while (position < limit && buffer.get(position) != '\n') {
+            position++;
+        }
+
+        // skip '\n'
+        position++;
+
+    }
+
+    private static boolean isLineEnd(byte b) {
+        return b == '\n' || b == '\r';
+    }
+
+}
@@ -0,0 +1,286 @@
+import java.util.Arrays;
+
+
+/**
+ * Columnar OHLCV price series
+ * each field is stored in its own primitive array, rows are in ascending date order,
+ * a series may be a slice view sharing the columns of a longer one
+ *
+ * @author Xudong Wang (xwang199@sheffield.ac.uk)
+ * @version 1.0 18 October 2026
+ */
+
+
+class PriceSeries {
+
+    // first row in the columns and number of rows of this view
+    private final int offset;
+    private final int size;
+
+    // date of each row as days since 1970-01-01
+    private final int[] epochDays;
+
+    private final double[] open;
+    private final double[] high;
+    private final double[] low;
+    private final double[] close;
+    private final double[] volume;
+
+    /**
+     * Class constructor
+     * arrays are shared, not copied
+     *
+     * @param size      number of rows
+     * @param epochDays date column
+     * @param open      open price column
+     * @param high      high price column
+     * @param low       low price column
+     * @param close     close price column
+     * @param volume    volume column
+     */
+    PriceSeries(int size, int[] epochDays, double[] open, double[] high, double[] low, double[] close, double[] volume) {
+        this(0, size, epochDays, open, high, low, close, volume);
+    }
+
+    /**
+     * Class constructor of a slice view
+     *
+     * @param offset    first row in the columns
+     * @param size      number of rows
+     * @param epochDays date column
+     * @param open      open price column
+     * @param high      high price column
+     * @param low       low price column
+     * @param close     close price column
+     * @param volume    volume column
+     */
+    private PriceSeries(int offset, int size, int[] epochDays, double[] open, double[] high, double[] low, double[] close, double[] volume) {
+
+        this.offset = offset;
+        this.size = size;
+        this.epochDays = epochDays;
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+        this.volume = volume;
+
+    }
+
+    /**
+     * @return number of rows
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return index of the first row in the columns
+     */
+    int getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return date column in epoch days, rows start at getOffset()
+     */
+    int[] getEpochDays() {
+        return epochDays;
+    }
+
+    /**
+     * @return open price column, rows start at getOffset()
+     */
+    double[] getOpen() {
+        return open;
+    }
+
+    /**
+     * @return high price column, rows start at getOffset()
+     */
+    double[] getHigh() {
+        return high;
+    }
+
+    /**
+     * @return low price column, rows start at getOffset()
+     */
+    double[] getLow() {
+        return low;
+    }
+
+    /**
+     * @return close price column, rows start at getOffset()
+     */
+    double[] getClose() {
+        return close;
+    }
+
+    /**
+     * @return volume column, rows start at getOffset()
+     */
+    double[] getVolume() {
+        return volume;
+    }
+
+    /**
+     * Get rows between two dates without copying
+     *
+     * @param startDay inclusive start epoch day
+     * @param endDay   inclusive end epoch day
+     * @return PriceSeries object sharing the columns of this series
+     */
+    PriceSeries slice(int startDay, int endDay) {
+
+        int from = lowerBound(startDay);
+        int to = Math.max(from, lowerBound(endDay + 1));
+
+        return new PriceSeries(offset + from, to - from, epochDays, open, high, low, close, volume);
+
+    }
+
+    /**
+     * Binary search the first row not before the given date
+     *
+     * @param epochDay date to search
+     * @return row index relative to the offset, size if all rows are before the date
+     */
+    int lowerBound(int epochDay) {
+
+        int low = offset;
+        int high = offset + size;
+
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (epochDays[middle] < epochDay) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low - offset;
+
+    }
+
+    /**
+     * Growable column buffers to collect rows before the row count is known
+     */
+    static class Builder {
+
+        private static final int INITIAL_CAPACITY = 256;
+
+        private int size = 0;
+
+        private int[] epochDays;
+        private double[] open;
+        private double[] high;
+        private double[] low;
+        private double[] close;
+        private double[] volume;
+
+        /**
+         * Class constructor with default capacity
+         */
+        Builder() {
+            this(INITIAL_CAPACITY);
+        }
+
+        /**
+         * Class constructor
+         *
+         * @param capacity expected number of rows
+         */
+        Builder(int capacity) {
+
+            capacity = Math.max(capacity, 1);
+
+            epochDays = new int[capacity];
+            open = new double[capacity];
+            high = new double[capacity];
+            low = new double[capacity];
+            close = new double[capacity];
+            volume = new double[capacity];
+
+        }
+
+        /**
+         * Append one row
+         *
+         * @param epochDay date in epoch days
+         * @param o        open price
+         * @param h        high price
+         * @param l        low price
+         * @param c        close price
+         * @param v        volume
+         */
+        void add(int epochDay, double o, double h, double l, double c, double v) {
+
+            if (size == epochDays.length) {
+                // double the capacity when columns are full
+                int capacity = size * 2;
+                epochDays = Arrays.copyOf(epochDays, capacity);
+                open = Arrays.copyOf(open, capacity);
+                high = Arrays.copyOf(high, capacity);
+                low = Arrays.copyOf(low, capacity);
+                close = Arrays.copyOf(close, capacity);
+                volume = Arrays.copyOf(volume, capacity);
+            }
+
+            epochDays[size] = epochDay;
+            open[size] = o;
+            high[size] = h;
+            low[size] = l;
+            close[size] = c;
+            volume[size] = v;
+            size++;
+
+        }
+
+        /**
+         * Build the series with columns trimmed to the row count
+         * rows added in descending date order are reversed
+         *
+         * @return PriceSeries object in ascending date order
+         */
+        PriceSeries build() {
+
+            if (size > 1 && epochDays[0] > epochDays[size - 1]) {
+                // reverse rows in place to ascending order
+                for (int i = 0, j = size - 1; i < j; i++, j--) {
+                    swap(epochDays, i, j);
+                    swap(open, i, j);
+                    swap(high, i, j);
+                    swap(low, i, j);
+                    swap(close, i, j);
+                    swap(volume, i, j);
+                }
+            }
+
+            return new PriceSeries(
+                    size,
+                    Arrays.copyOf(epochDays, size),
+                    Arrays.copyOf(open, size),
+                    Arrays.copyOf(high, size),
+                    Arrays.copyOf(low, size),
+                    Arrays.copyOf(close, size),
+                    Arrays.copyOf(volume, size)
+            );
+
+        }
+
+        private static void swap(int[] array, int i, int j) {
+            int temp = array[i];
+            array[i] = array[j];
+            array[j] = temp;
+        }
+
+        private static void swap(double[] array, int i, int j) {
+            double temp = array[i];
+            array[i] = array[j];
+            array[j] = temp;
+        }
+
+    }
+
+}
@@ -0,0 +1,516 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Persistent per-symbol quote cache
+ * each symbol has one binary file holding the merged series and the date intervals already retrieved,
+ * only the sub-ranges missing from those intervals are downloaded,
+ * recently used entries stay in memory so a covered range is served as a slice by binary search
+ *
+ * @author Xudong Wang (xwang199@sheffield.ac.uk)
+ * @version 1.0 18 October 2026
+ */
+
+
+class QuoteCache {
+
+    private static final String CACHE_DIRECTORY = "cache";
+    private static final String CACHE_FILE_EXTENSION = ".bin";
+
+    private static final String DEFAULT_STOCK_URL_TEMPLATE = "https://quotes.wsj.com/%s/historical-prices/download?MOD_VIEW=page&num_rows=%s&startDate=%s&endDate=%s";
+
+    // symbol, number of rows, start date and end date like '12/30/2018', e.g. -Dstockviewer.quoteUrl=http://localhost:8080/quotes/%s?num_rows=%s&startDate=%s&endDate=%s
+    private static final String STOCK_URL_TEMPLATE = System.getProperty("stockviewer.quoteUrl", DEFAULT_STOCK_URL_TEMPLATE);
+
+    // cache file header
+    private static final int MAGIC = 0x53564331;
+    private static final int VERSION = 1;
+
+    // bytes of one row: int date and five double values
+    private static final int ROW_BYTES = Integer.BYTES + 5 * Double.BYTES;
+
+    // format date to '30_12_2018'
+    private static final DateTimeFormatter DATE_FORMATTER_UK = DateTimeFormatter.ofPattern("dd_MM_uuuu");
+    // format date to '12/30/2018'
+    private static final DateTimeFormatter DATE_FORMATTER_US = DateTimeFormatter.ofPattern("MM/dd/uuuu");
+
+    // today's quote is downloaded again after this interval
+    private static final long OPEN_DAY_REFRESH_MILLIS = TimeUnit.MINUTES.toMillis(15);
+
+    // one lock per symbol, requests of the same symbol update its cache file one at a time
+    private static final ConcurrentHashMap<String, Object> LOCKS = new ConcurrentHashMap<>();
+
+    // number of symbols kept in memory, e.g. -Dstockviewer.cachedSymbols=256
+    private static final int MAX_ENTRIES = Math.max(1, Integer.getInteger("stockviewer.cachedSymbols", 64));
+
+    // key: ticker symbol value: entry loaded in this session, least recently used evicted first,
+    // guarded by itself, an entry is only read or updated under its symbol lock
+    private static final Map<String, Entry> ENTRIES = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    /**
+     * Get the series of a symbol between start date and end date
+     * missing sub-ranges are downloaded and merged into the cache file
+     *
+     * @param symbol    ticker symbol
+     * @param startDate start date
+     * @param endDate   end date
+     * @return PriceSeries object of the requested range, sharing the columns of the cached series
+     * @throws IOException if reading or writing the cache failed, or the download failed and nothing is cached
+     */
+    static PriceSeries getSeries(String symbol, LocalDate startDate, LocalDate endDate) throws IOException {
+
+        int startDay = (int) startDate.toEpochDay();
+        int endDay = (int) endDate.toEpochDay();
+
+        synchronized (LOCKS.computeIfAbsent(symbol, key -> new Object())) {
+
+            Path cachePath = Paths.get(CACHE_DIRECTORY, symbol + CACHE_FILE_EXTENSION);
+            Entry entry;
+
+            synchronized (ENTRIES) {
+                entry = ENTRIES.get(symbol);
+            }
+
+            if (entry == null) {
+                // first request of this symbol in the session, or evicted since, the file is up to date
+                entry = Files.exists(cachePath) ? readEntryOrDiscard(cachePath) : new Entry();
+                synchronized (ENTRIES) {
+                    ENTRIES.put(symbol, entry);
+                }
+            }
+
+            // today's quote may still change, only complete days are recorded as retrieved
+            int today = (int) LocalDate.now().toEpochDay();
+            int lastCompleteDay = today - 1;
+
+            boolean updated = false;
+            boolean failed = false;
+
+            for (int[] gap : entry.getGaps(startDay, endDay)) {
+
+                if (gap[0] >= today && entry.isOpenDayFresh(today)) {
+                    // today was downloaded a moment ago
+                    continue;
+                }
+
+                PriceSeries delta = download(symbol, LocalDate.ofEpochDay(gap[0]), LocalDate.ofEpochDay(gap[1]));
+
+                if (delta == null) {
+                    // download failed, leave the gap unrecorded to retry next time
+                    failed = true;
+                    continue;
+                }
+
+                entry.series = merge(entry.series, delta);
+
+                if (gap[0] <= Math.min(gap[1], lastCompleteDay)) {
+                    entry.addInterval(gap[0], Math.min(gap[1], lastCompleteDay));
+                }
+
+                if (gap[1] >= today) {
+                    entry.openDay = today;
+                    entry.openDayRetrievedMillis = System.currentTimeMillis();
+                }
+
+                updated = true;
+
+            }
+
+            if (updated) {
+                writeEntry(cachePath, entry);
+            }
+
+            // binary search the range, columns are shared rather than copied
+            PriceSeries slice = entry.series.slice(startDay, endDay);
+
+            if (failed && slice.size() == 0) {
+                // nothing cached to show instead
+                throw new IOException("Download failed: " + symbol + " " + startDate + " to " + endDate);
+            }
+
+            return slice;
+
+        }
+
+    }
+
+    /**
+     * Download quotes of one date range from the configured endpoint
+     *
+     * @param symbol    ticker symbol
+     * @param startDate start date
+     * @param endDate   end date
+     * @return PriceSeries object, null if download failed
+     * @throws IOException if download or parsing failed
+     */
+    private static PriceSeries download(String symbol, LocalDate startDate, LocalDate endDate) throws IOException {
+
+        String url = getQuoteUrl(symbol, startDate, endDate);
+
+        // format data filename
+        File directory = new File(CACHE_DIRECTORY);
+        String fileName = symbol + "_" + startDate.format(DATE_FORMATTER_UK) + "_" + endDate.format(DATE_FORMATTER_UK) + ".csv";
+        String filePath = new File(directory, fileName).getPath();
+
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create cache directory: " + directory);
+        }
+
+        try {
+            if (HttpDownloader.download(filePath, url)) {
+                // read into heap, the file is deleted before the series is merged
+                return PriceFileReader.read(Files.readAllBytes(Paths.get(filePath)));
+            }
+            return null;
+        } finally {
+            // the downloaded delta is merged into the cache file
+            Files.deleteIfExists(Paths.get(filePath));
+        }
+
+    }
+
+    /**
+     * Format the quoting URL of the configured endpoint, the Wall Street Journal by default
+     *
+     * @param symbol    ticker symbol
+     * @param startDate start date
+     * @param endDate   end date
+     * @return web address of the price CSV file
+     */
+    static String getQuoteUrl(String symbol, LocalDate startDate, LocalDate endDate) {
+
+        return String.format(
+                STOCK_URL_TEMPLATE,
+                symbol,
+                Long.toString(ChronoUnit.DAYS.between(startDate, endDate) + 1),
+                startDate.format(DATE_FORMATTER_US),
+                endDate.format(DATE_FORMATTER_US)
+        );
+
+    }
+
+    /**
+     * Merge two series in ascending date order
+     * rows of the newer series replace rows of the same date in the older one
+     *
+     * @param older series
+     * @param newer series
+     * @return merged series
+     */
+    private static PriceSeries merge(PriceSeries older, PriceSeries newer) {
+
+        int[] olderDays = older.getEpochDays();
+        int[] newerDays = newer.getEpochDays();
+
+        PriceSeries.Builder builder = new PriceSeries.Builder(older.size() + newer.size());
+
+        // row indices in the columns
+        int i = older.getOffset();
+        int j = newer.getOffset();
+        int olderEnd = i + older.size();
+        int newerEnd = j + newer.size();
+
+        while (i < olderEnd || j < newerEnd) {
+
+            if (j == newerEnd || (i < olderEnd && olderDays[i] < newerDays[j])) {
+                addRow(builder, older, i++);
+            } else {
+                if (i < olderEnd && olderDays[i] == newerDays[j]) {
+                    // same date, skip the older row
+                    i++;
+                }
+                addRow(builder, newer, j++);
+            }
+
+        }
+
+        return builder.build();
+
+    }
+
+    /**
+     * Append one row of a series
+     *
+     * @param builder to append to
+     * @param series  source series
+     * @param i       row index in the columns
+     */
+    private static void addRow(PriceSeries.Builder builder, PriceSeries series, int i) {
+        builder.add(
+                series.getEpochDays()[i],
+                series.getOpen()[i],
+                series.getHigh()[i],
+                series.getLow()[i],
+                series.getClose()[i],
+                series.getVolume()[i]
+        );
+    }
+
+    /**
+     * Read cache file, a damaged file is deleted and the symbol is downloaded again
+     *
+     * @param path of cache file
+     * @return cache entry, empty if the file is damaged
+     * @throws IOException if the damaged file cannot be deleted
+     */
+    private static Entry readEntryOrDiscard(Path path) throws IOException {
+
+        try {
+            return readEntry(path);
+        } catch (IOException e) {
+            e.printStackTrace();
+            Files.deleteIfExists(path);
+            return new Entry();
+        }
+
+    }
+
+    /**
+     * Read cache file
+     *
+     * @param path of cache file
+     * @return cache entry
+     * @throws IOException if reading failed or the file is truncated
+     */
+    private static Entry readEntry(Path path) throws IOException {
+
+        // read into heap rather than mapping, so the file can be replaced while the entry is alive
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+
+        if (buffer.limit() < 3 * Integer.BYTES || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            // unknown format, start again with an empty cache
+            return new Entry();
+        }
+
+        Entry entry = new Entry();
+
+        int intervalCount = getCount(buffer, 2 * Integer.BYTES, path);
+        entry.intervals = new int[intervalCount * 2];
+        buffer.asIntBuffer().get(entry.intervals);
+        buffer.position(buffer.position() + intervalCount * 2 * Integer.BYTES);
+
+        if (buffer.remaining() < Integer.BYTES) {
+            throw new IOException("Truncated cache file: " + path);
+        }
+
+        int size = buffer.getInt();
+
+        if (size < 0 || size != buffer.remaining() / ROW_BYTES || buffer.remaining() % ROW_BYTES != 0) {
+            throw new IOException("Truncated cache file: " + path);
+        }
+
+        int[] epochDays = new int[size];
+        double[][] columns = new double[5][size];
+
+        buffer.asIntBuffer().get(epochDays);
+        buffer.position(buffer.position() + size * Integer.BYTES);
+
+        for (double[] column : columns) {
+            buffer.asDoubleBuffer().get(column);
+            buffer.position(buffer.position() + size * Double.BYTES);
+        }
+
+        entry.series = new PriceSeries(size, epochDays, columns[0], columns[1], columns[2], columns[3], columns[4]);
+
+        return entry;
+
+    }
+
+    /**
+     * Read a count and check it against the bytes left
+     *
+     * @param buffer      cache file content
+     * @param elementSize bytes of each element
+     * @param path        of cache file
+     * @return number of elements
+     * @throws IOException if the count is negative or the file is truncated
+     */
+    private static int getCount(ByteBuffer buffer, int elementSize, Path path) throws IOException {
+
+        int count = buffer.getInt();
+
+        if (count < 0 || count > buffer.remaining() / elementSize) {
+            throw new IOException("Truncated cache file: " + path);
+        }
+
+        return count;
+
+    }
+
+    /**
+     * Write cache file, the old file is replaced atomically
+     *
+     * @param path  of cache file
+     * @param entry cache entry
+     * @throws IOException if writing failed
+     */
+    private static void writeEntry(Path path, Entry entry) throws IOException {
+
+        PriceSeries series = entry.series;
+        int offset = series.getOffset();
+        int size = series.size();
+
+        ByteBuffer buffer = ByteBuffer.allocate(4 * Integer.BYTES + entry.intervals.length * Integer.BYTES + size * ROW_BYTES);
+
+        buffer.putInt(MAGIC).putInt(VERSION);
+
+        buffer.putInt(entry.intervals.length / 2);
+        buffer.asIntBuffer().put(entry.intervals);
+        buffer.position(buffer.position() + entry.intervals.length * Integer.BYTES);
+
+        buffer.putInt(size);
+        buffer.asIntBuffer().put(series.getEpochDays(), offset, size);
+        buffer.position(buffer.position() + size * Integer.BYTES);
+
+        for (double[] column : new double[][]{series.getOpen(), series.getHigh(), series.getLow(), series.getClose(), series.getVolume()}) {
+            buffer.asDoubleBuffer().put(column, offset, size);
+            buffer.position(buffer.position() + size * Double.BYTES);
+        }
+
+        buffer.flip();
+
+        Path temporaryPath = Paths.get(path + ".tmp");
+
+        try (FileChannel fileChannel = FileChannel.open(
+                temporaryPath,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                fileChannel.write(buffer);
+            }
+        }
+
+        Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+    }
+
+    /**
+     * Cached series and the sorted, disjoint date intervals already retrieved
+     */
+    private static class Entry {
+
+        private PriceSeries series = new PriceSeries.Builder(1).build();
+
+        // pairs of inclusive start and end epoch days
+        private int[] intervals = new int[0];
+
+        // today's quote is never recorded in intervals, only remembered in memory
+        private int openDay;
+        private long openDayRetrievedMillis;
+
+        /**
+         * Check whether today's quote was downloaded recently
+         *
+         * @param today epoch day of today
+         * @return true if no need to download today's quote again
+         */
+        private boolean isOpenDayFresh(int today) {
+            return openDay == today && System.currentTimeMillis() - openDayRetrievedMillis < OPEN_DAY_REFRESH_MILLIS;
+        }
+
+        /**
+         * Get the sub-ranges of the requested range not covered by retrieved intervals
+         *
+         * @param startDay requested start epoch day
+         * @param endDay   requested end epoch day
+         * @return list of inclusive start and end epoch days
+         */
+        private List<int[]> getGaps(int startDay, int endDay) {
+
+            List<int[]> gaps = new ArrayList<>();
+            int day = startDay;
+
+            for (int i = 0; i < intervals.length && day <= endDay; i += 2) {
+
+                if (intervals[i + 1] < day) {
+                    // interval is before the remaining range
+                    continue;
+                }
+
+                if (intervals[i] > day) {
+                    gaps.add(new int[]{day, Math.min(endDay, intervals[i] - 1)});
+                }
+
+                day = intervals[i + 1] + 1;
+
+            }
+
+            if (day <= endDay) {
+                gaps.add(new int[]{day, endDay});
+            }
+
+            return gaps;
+
+        }
+
+        /**
+         * Record a retrieved interval, overlapping and adjacent intervals are coalesced
+         *
+         * @param startDay inclusive start epoch day
+         * @param endDay   inclusive end epoch day
+         */
+        private void addInterval(int startDay, int endDay) {
+
+            int[] merged = new int[intervals.length + 2];
+            int count = 0;
+            boolean inserted = false;
+
+            for (int i = 0; i <= intervals.length; i += 2) {
+
+                int start;
+                int end;
+
+                if (!inserted && (i == intervals.length || startDay < intervals[i])) {
+                    // insert the new interval in start order
+                    start = startDay;
+                    end = endDay;
+                    inserted = true;
+                    i -= 2;
+                } else if (i < intervals.length) {
+                    start = intervals[i];
+                    end = intervals[i + 1];
+                } else {
+                    break;
+                }
+
+                if (count > 0 && start <= merged[count - 1] + 1) {
+                    // overlapping or adjacent, extend the last interval
+                    merged[count - 1] = Math.max(merged[count - 1], end);
+                } else {
+                    merged[count++] = start;
+                    merged[count++] = end;
+                }
+
+            }
+
+            intervals = Arrays.copyOf(merged, count);
+
+        }
+
+    }
+
+}
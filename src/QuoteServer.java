@@ -0,0 +1,398 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+
+/**
+ * Local stand-in for the quote and symbol list endpoints, so retrieval can be exercised without network
+ * price CSV files of any length are generated on request, the same symbol and day always give the same row,
+ * every response can be delayed and a share of them answered with an error
+ * <p>
+ * usage: java QuoteServer [PORT [LATENCY_MILLIS [ERROR_RATE]]]
+ * then run StockViewer with
+ * -Dstockviewer.quoteUrl=http://localhost:8080/quotes/%s?num_rows=%s&startDate=%s&endDate=%s
+ * -Dstockviewer.symbolUrl=http://localhost:8080/symbols.csv
+ *
+ * @author Xudong Wang (xwang199@sheffield.ac.uk)
+ * @version 1.0 18 October 2026
+ */
+
+
+class QuoteServer {
+
+    static final int DEFAULT_PORT = 8080;
+
+    private static final String QUOTE_PATH = "/quotes/";
+    private static final String SYMBOL_PATH = "/symbols.csv";
+
+    private static final String QUOTE_HEADER = "Date, Open, High, Low, Close, Volume\n";
+    private static final String SYMBOL_HEADER = "Symbol,Company Name\n";
+
+    // number of symbols in the listing, named 'SYN0' to 'SYN999'
+    private static final int SYMBOL_COUNT = 1000;
+    private static final String SYMBOL_PREFIX = "SYN";
+
+    private static final int HTTP_BAD_REQUEST = 400;
+    private static final int HTTP_NOT_FOUND = 404;
+    private static final int HTTP_UNAVAILABLE = 503;
+
+    // same date format as the Wall Street Journal
+    private static final DateTimeFormatter DATE_FORMATTER_US = DateTimeFormatter.ofPattern("MM/dd/uuuu");
+
+    // read by the JDK server once, when the first server is created
+    private static final String NO_DELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final long latencyMillis;
+    private final double errorRate;
+
+    /**
+     * Class constructor, the server is bound to the loopback address but not started
+     *
+     * @param port          to listen on, 0 for any free port
+     * @param latencyMillis delay before every response
+     * @param errorRate     share of quote requests answered with 503, from 0 to 1
+     * @throws IOException if the port cannot be bound
+     */
+    QuoteServer(int port, long latencyMillis, double errorRate) throws IOException {
+
+        this.latencyMillis = latencyMillis;
+        this.errorRate = errorRate;
+
+        // one thread per request, delayed responses never queue behind each other
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "quote-server-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // headers and body are written separately, without this every response waits for a delayed ACK
+        if (System.getProperty(NO_DELAY_PROPERTY) == null) {
+            System.setProperty(NO_DELAY_PROPERTY, "true");
+        }
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext(QUOTE_PATH, this::handleQuotes);
+        server.createContext(SYMBOL_PATH, this::handleSymbols);
+        server.setExecutor(executor);
+
+    }
+
+    /**
+     * Entrance of stand-in server mode
+     *
+     * @param args optional port, latency in milliseconds and error rate
+     */
+    public static void main(String[] args) {
+
+        try {
+
+            int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+            long latencyMillis = args.length > 1 ? Long.parseLong(args[1]) : 0;
+            double errorRate = args.length > 2 ? Double.parseDouble(args[2]) : 0;
+
+            QuoteServer quoteServer = new QuoteServer(port, latencyMillis, errorRate);
+            quoteServer.start();
+
+            System.out.println("Quote URL:  " + quoteServer.getQuoteUrlTemplate());
+            System.out.println("Symbol URL: " + quoteServer.getSymbolUrl());
+
+        } catch (IOException | NumberFormatException e) {
+            e.printStackTrace();
+            System.exit(1);
+        }
+
+    }
+
+    /**
+     * Start serving on background threads
+     */
+    void start() {
+        server.start();
+    }
+
+    /**
+     * Stop serving, exchanges in progress are given one second to finish
+     */
+    void stop() {
+        server.stop(1);
+        executor.shutdown();
+    }
+
+    /**
+     * @return port listened on
+     */
+    int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * @return quoting URL template of this server, in the format of -Dstockviewer.quoteUrl
+     */
+    String getQuoteUrlTemplate() {
+        return "http://localhost:" + getPort() + QUOTE_PATH + "%s?num_rows=%s&startDate=%s&endDate=%s";
+    }
+
+    /**
+     * @return symbol list URL of this server, in the format of -Dstockviewer.symbolUrl
+     */
+    String getSymbolUrl() {
+        return "http://localhost:" + getPort() + SYMBOL_PATH;
+    }
+
+    /**
+     * Answer '/quotes/SYMBOL?startDate=12/01/2018&endDate=12/30/2018' with one row per weekday, latest first
+     *
+     * @param exchange HTTP exchange
+     * @throws IOException if the response cannot be written
+     */
+    private void handleQuotes(HttpExchange exchange) throws IOException {
+
+        try {
+
+            delay();
+
+            if (ThreadLocalRandom.current().nextDouble() < errorRate) {
+                // simulated server failure
+                exchange.sendResponseHeaders(HTTP_UNAVAILABLE, -1);
+                return;
+            }
+
+            String symbol = exchange.getRequestURI().getPath().substring(QUOTE_PATH.length());
+            Map<String, String> parameters = getParameters(exchange.getRequestURI().getRawQuery());
+
+            LocalDate startDate;
+            LocalDate endDate;
+
+            try {
+                startDate = LocalDate.parse(parameters.getOrDefault("startDate", ""), DATE_FORMATTER_US);
+                endDate = LocalDate.parse(parameters.getOrDefault("endDate", ""), DATE_FORMATTER_US);
+            } catch (DateTimeParseException e) {
+                exchange.sendResponseHeaders(HTTP_BAD_REQUEST, -1);
+                return;
+            }
+
+            if (symbol.isEmpty() || startDate.isAfter(endDate)) {
+                exchange.sendResponseHeaders(HTTP_BAD_REQUEST, -1);
+                return;
+            }
+
+            send(exchange, getQuotes(symbol, startDate, endDate));
+
+        } finally {
+            // release the connection for the next request
+            exchange.close();
+        }
+
+    }
+
+    /**
+     * Answer the symbol list like 'SYN0,Synthetic Company 0'
+     *
+     * @param exchange HTTP exchange
+     * @throws IOException if the response cannot be written
+     */
+    private void handleSymbols(HttpExchange exchange) throws IOException {
+
+        try {
+
+            delay();
+
+            if (!exchange.getRequestURI().getPath().equals(SYMBOL_PATH)) {
+                exchange.sendResponseHeaders(HTTP_NOT_FOUND, -1);
+                return;
+            }
+
+            StringBuilder builder = new StringBuilder(SYMBOL_HEADER);
+            for (int i = 0; i < SYMBOL_COUNT; i++) {
+                builder.append(SYMBOL_PREFIX).append(i).append(",Synthetic Company ").append(i).append('\n');
+            }
+
+            send(exchange, builder);
+
+        } finally {
+            exchange.close();
+        }
+
+    }
+
+    /**
+     * Generate price CSV content of a symbol, weekends are left out like a real market
+     * prices follow a slow wave around a level fixed by the symbol, with noise fixed by symbol and day
+     *
+     * @param symbol    ticker symbol
+     * @param startDate start date
+     * @param endDate   end date
+     * @return CSV content, latest day first
+     */
+    static StringBuilder getQuotes(String symbol, LocalDate startDate, LocalDate endDate) {
+
+        int seed = symbol.hashCode();
+        double level = 20 + Math.floorMod(seed, 480);
+
+        StringBuilder builder = new StringBuilder(QUOTE_HEADER);
+
+        for (LocalDate date = endDate; !date.isBefore(startDate); date = date.minusDays(1)) {
+
+            DayOfWeek dayOfWeek = date.getDayOfWeek();
+            if (dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY) {
+                continue;
+            }
+
+            long day = date.toEpochDay();
+            long hash = mix(seed * 31L + day);
+
+            // four uniform numbers from 0 to 1 out of one hash
+            double u1 = (hash & 0xFFFF) / 65536.0;
+            double u2 = (hash >>> 16 & 0xFFFF) / 65536.0;
+            double u3 = (hash >>> 32 & 0xFFFF) / 65536.0;
+            double u4 = (hash >>> 48 & 0xFFFF) / 65536.0;
+
+            double close = level * (1 + 0.3 * Math.sin(day / 40.0 + seed) + 0.02 * (u1 - 0.5));
+            double open = close * (1 + 0.02 * (u2 - 0.5));
+            double high = Math.max(open, close) * (1 + 0.01 * u3);
+            double low = Math.min(open, close) * (1 - 0.01 * u4);
+            long volume = 1000000 + (hash >>> 40) * 3;
+
+            builder.append(date.format(DATE_FORMATTER_US));
+            appendPrice(builder, open);
+            appendPrice(builder, high);
+            appendPrice(builder, low);
+            appendPrice(builder, close);
+            builder.append(", ").append(volume).append('\n');
+
+        }
+
+        return builder;
+
+    }
+
+    /**
+     * Append price with two decimals and no grouping, the format read by PriceFileReader
+     *
+     * @param builder to append to
+     * @param price   positive price
+     */
+    private static void appendPrice(StringBuilder builder, double price) {
+
+        long cents = Math.round(price * 100);
+        long fraction = cents % 100;
+
+        builder.append(", ").append(cents / 100).append('.').append(fraction < 10 ? "0" : "").append(fraction);
+
+    }
+
+    /**
+     * Scramble bits of a number, the finalizer of SplitMix64
+     *
+     * @param value to scramble
+     * @return well mixed hash
+     */
+    private static long mix(long value) {
+
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+
+        return value ^ (value >>> 31);
+
+    }
+
+    /**
+     * Sleep for the configured latency
+     */
+    private void delay() {
+
+        if (latencyMillis <= 0) {
+            return;
+        }
+
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            // server is stopping
+            Thread.currentThread().interrupt();
+        }
+
+    }
+
+    /**
+     * Send content as HTTP 200, gzip-compressed if the client accepts it
+     *
+     * @param exchange HTTP exchange
+     * @param content  text to send
+     * @throws IOException if the response cannot be written
+     */
+    private static void send(HttpExchange exchange, CharSequence content) throws IOException {
+
+        byte[] body = content.toString().getBytes(StandardCharsets.US_ASCII);
+
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(body);
+            }
+            body = compressed.toByteArray();
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+
+        exchange.getResponseHeaders().set("Content-Type", "text/csv");
+        exchange.sendResponseHeaders(HttpDownloader.HTTP_OK, body.length);
+
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+
+    }
+
+    /**
+     * Split raw query like 'startDate=12%2F01%2F2018&endDate=12%2F30%2F2018'
+     *
+     * @param rawQuery query of request URI, may be null
+     * @return key: parameter name value: decoded value
+     */
+    private static Map<String, String> getParameters(String rawQuery) {
+
+        Map<String, String> parameters = new HashMap<>();
+
+        if (rawQuery == null) {
+            return parameters;
+        }
+
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals > 0) {
+                parameters.put(
+                        URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8)
+                );
+            }
+        }
+
+        return parameters;
+
+    }
+
+}
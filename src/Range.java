@@ -24,6 +24,93 @@ class Range {
         this.range = max - min;
     }
 
+    /**
+     * Get range of data with space for graph beautifying
+     *
+     * @param max of data
+     * @param min of data
+     * @return Range object
+     */
+    static Range withMargin(double max, double min) {
+
+        // 10% space for max and min for graph beautifying
+        // round range to nearest multiple of 5 to avoid infinite decimal in y-axis labels
+        double maxRange = Math.ceil(max * 1.1 / 5) * 5;
+        double minRange = Math.floor(min * 0.9 / 5) * 5;
+
+        return new Range(maxRange, minRange);
+
+    }
+
+    /**
+     * Get range of data with space proportional to its span
+     * suitable for data around zero like percent changes,
+     * the range is four steps of 1, 2, 2.5 or 5 times a power of ten so labels stay round
+     *
+     * @param max of data
+     * @param min of data
+     * @return Range object
+     */
+    static Range withSpanMargin(double max, double min) {
+
+        // 10% of the span above max and below min, at least 1 for flat data
+        double margin = Math.max((max - min) * 0.1, 1);
+
+        return withRoundSteps(max + margin, min - margin);
+
+    }
+
+    /**
+     * Get range of data with space proportional to its span only
+     * suitable for data of any sign and size like oscillators or live ticks,
+     * flat data gets 10% of its value, or 1, above and below
+     *
+     * @param max of data
+     * @param min of data
+     * @return Range object
+     */
+    static Range withRelativeMargin(double max, double min) {
+
+        double margin = (max - min) * 0.1;
+
+        if (!(margin > 0)) {
+            // flat data, avoid a zero span
+            margin = Math.max(Math.abs(max), Math.abs(min)) * 0.1;
+            margin = margin > 0 ? margin : 1;
+        }
+
+        return withRoundSteps(max + margin, min - margin);
+
+    }
+
+    /**
+     * Widen a range to four steps of 1, 2, 2.5 or 5 times a power of ten
+     *
+     * @param max of range
+     * @param min of range
+     * @return Range object
+     */
+    private static Range withRoundSteps(double max, double min) {
+
+        double magnitude = Math.pow(10, Math.floor(Math.log10((max - min) / 4)));
+        double[] multipliers = {1, 2, 2.5, 5, 10, 20};
+
+        for (double multiplier : multipliers) {
+
+            double step = multiplier * magnitude;
+            double minRange = Math.floor(min / step) * step;
+
+            if (minRange + 4 * step >= max) {
+                return new Range(minRange + 4 * step, minRange);
+            }
+
+        }
+
+        // unreachable, 20 times the magnitude always covers the span
+        return new Range(max, min);
+
+    }
+
     /**
      * @return max
      */
@@ -0,0 +1,188 @@
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+
+/**
+ * Retrieval pipeline running on a bounded pool of worker threads
+ * identical requests in flight share one future, and a click identical to one whose retrieval, parse and plot
+ * are still pending joins it, so repeated clicks do not repeat download and parse work or open more windows
+ *
+ * @author Xudong Wang (xwang199@sheffield.ac.uk)
+ * @version 1.0 18 October 2026
+ */
+
+
+class RetrievalService {
+
+    // maximum number of retrievals running at the same time
+    private static final int MAX_CONCURRENT_RETRIEVALS = 4;
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    // daemon workers, the pool never keeps the application alive
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(MAX_CONCURRENT_RETRIEVALS, runnable -> {
+        Thread thread = new Thread(runnable, "retrieval-" + THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // key: 'SYMBOL_startDay_endDay' value: retrieval in flight
+    private static final ConcurrentHashMap<String, CompletableFuture<PriceSeries>> IN_FLIGHT = new ConcurrentHashMap<>();
+
+    // key: 'PLOT_SYMBOL_startDay_endDay' or 'COMPARE_SYMBOL,SYMBOL_startDay_endDay' value: pipeline not finished yet
+    private static final ConcurrentHashMap<String, CompletableFuture<Void>> PENDING = new ConcurrentHashMap<>();
+
+    /**
+     * Retrieve series of a symbol between start date and end date
+     * a request identical to one still in flight joins it instead of starting another
+     *
+     * @param symbol    ticker symbol
+     * @param startDate start date
+     * @param endDate   end date
+     * @return future of the retrieved series
+     */
+    static CompletableFuture<PriceSeries> retrieve(String symbol, LocalDate startDate, LocalDate endDate) {
+
+        String key = getKey(symbol, startDate, endDate);
+
+        CompletableFuture<PriceSeries> future = new CompletableFuture<>();
+        CompletableFuture<PriceSeries> existing = IN_FLIGHT.putIfAbsent(key, future);
+
+        if (existing != null) {
+            // same request in flight
+            return existing;
+        }
+
+        EXECUTOR.execute(() -> {
+            try {
+                PriceSeries series = QuoteCache.getSeries(symbol, startDate, endDate);
+                // unregister before completing, later requests read the updated cache
+                IN_FLIGHT.remove(key, future);
+                future.complete(series);
+            } catch (Throwable t) {
+                IN_FLIGHT.remove(key, future);
+                future.completeExceptionally(t);
+            }
+        });
+
+        return future;
+
+    }
+
+    /**
+     * Retrieve series of several symbols concurrently on the bounded pool
+     *
+     * @param symbols   ticker symbols
+     * @param startDate start date
+     * @param endDate   end date
+     * @return future of the retrieved series in the order of symbols
+     */
+    static CompletableFuture<List<PriceSeries>> retrieveAll(String[] symbols, LocalDate startDate, LocalDate endDate) {
+
+        List<CompletableFuture<PriceSeries>> futures = new ArrayList<>(symbols.length);
+
+        for (String symbol : symbols) {
+            futures.add(retrieve(symbol, startDate, endDate));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            List<PriceSeries> seriesList = new ArrayList<>(futures.size());
+            for (CompletableFuture<PriceSeries> future : futures) {
+                // all futures are completed
+                seriesList.add(future.join());
+            }
+            return seriesList;
+        });
+
+    }
+
+    /**
+     * Retrieve series of a symbol, then run a follow-up task like parse and plot on the same bounded pool
+     * a call identical to one not finished yet returns its future instead of repeating the work
+     *
+     * @param symbol    ticker symbol
+     * @param startDate start date
+     * @param endDate   end date
+     * @param task      to run with the retrieved series
+     * @return future of the follow-up task
+     */
+    static CompletableFuture<Void> retrieveThen(String symbol, LocalDate startDate, LocalDate endDate, Consumer<PriceSeries> task) {
+
+        return coalesce(
+                "PLOT_" + getKey(symbol, startDate, endDate),
+                () -> retrieve(symbol, startDate, endDate).thenAcceptAsync(task, EXECUTOR)
+        );
+
+    }
+
+    /**
+     * Retrieve series of several symbols, then run a follow-up task like compare on the same bounded pool
+     * a call identical to one not finished yet returns its future instead of repeating the work
+     *
+     * @param symbols   ticker symbols
+     * @param startDate start date
+     * @param endDate   end date
+     * @param task      to run with the retrieved series in the order of symbols
+     * @return future of the follow-up task
+     */
+    static CompletableFuture<Void> retrieveAllThen(String[] symbols, LocalDate startDate, LocalDate endDate, Consumer<List<PriceSeries>> task) {
+
+        return coalesce(
+                "COMPARE_" + getKey(String.join(",", symbols), startDate, endDate),
+                () -> retrieveAll(symbols, startDate, endDate).thenAcceptAsync(task, EXECUTOR)
+        );
+
+    }
+
+    /**
+     * Start a pipeline unless an identical one is not finished yet
+     *
+     * @param key      of the pipeline
+     * @param pipeline starts the work and returns its future
+     * @return future of the pipeline started now or earlier
+     */
+    private static CompletableFuture<Void> coalesce(String key, Supplier<CompletableFuture<Void>> pipeline) {
+
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        CompletableFuture<Void> existing = PENDING.putIfAbsent(key, future);
+
+        if (existing != null) {
+            // duplicate click, the pending pipeline opens the window
+            return existing;
+        }
+
+        pipeline.get().whenComplete((ignored, throwable) -> {
+            // unregister before completing, a later click starts again
+            PENDING.remove(key, future);
+            if (throwable == null) {
+                future.complete(null);
+            } else {
+                future.completeExceptionally(throwable);
+            }
+        });
+
+        return future;
+
+    }
+
+    /**
+     * Get key of a request like 'AAPL_17866_17895'
+     *
+     * @param symbol    ticker symbol or symbols
+     * @param startDate start date
+     * @param endDate   end date
+     * @return request key
+     */
+    private static String getKey(String symbol, LocalDate startDate, LocalDate endDate) {
+        return symbol + "_" + startDate.toEpochDay() + "_" + endDate.toEpochDay();
+    }
+
+}
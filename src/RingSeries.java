@@ -0,0 +1,156 @@
+/**
+ * Fixed-capacity ring buffer of streamed ticks
+ * every value is written twice, at slot and slot + capacity, so the window is always one contiguous
+ * range of the arrays, minimum and maximum of the window are kept by monotonic deques in O(1) amortised
+ *
+ * @author Xudong Wang (xwang199@sheffield.ac.uk)
+ * @version 1.0 18 October 2026
+ */
+
+
+class RingSeries {
+
+    private final int capacity;
+
+    // time in epoch milliseconds and value of each tick, 2 * capacity long
+    private final long[] times;
+    private final double[] values;
+
+    // window is [head, head + size) of the arrays
+    private int head = 0;
+    private int size = 0;
+
+    // sequence number of the next tick, tick n is stored at slot n % capacity
+    private long count = 0;
+
+    // sequence numbers of candidates for minimum and maximum, circular with capacity slots
+    // values are ascending in minDeque and descending in maxDeque
+    private final long[] minDeque;
+    private final long[] maxDeque;
+    private int minFront = 0;
+    private int minLength = 0;
+    private int maxFront = 0;
+    private int maxLength = 0;
+
+    /**
+     * Class constructor
+     *
+     * @param capacity maximum number of ticks kept
+     */
+    RingSeries(int capacity) {
+
+        this.capacity = Math.max(capacity, 1);
+        this.times = new long[2 * this.capacity];
+        this.values = new double[2 * this.capacity];
+        this.minDeque = new long[this.capacity];
+        this.maxDeque = new long[this.capacity];
+
+    }
+
+    /**
+     * Append one tick, the oldest one is dropped when the buffer is full
+     *
+     * @param time  in epoch milliseconds
+     * @param value of tick
+     * @return true if the oldest tick was dropped
+     */
+    boolean append(long time, double value) {
+
+        boolean dropped = size == capacity;
+
+        long sequence = count++;
+        int slot = (int) (sequence % capacity);
+
+        times[slot] = time;
+        times[slot + capacity] = time;
+        values[slot] = value;
+        values[slot + capacity] = value;
+
+        if (dropped) {
+            head = (head + 1) % capacity;
+        } else {
+            size++;
+        }
+
+        // sequence number of the first tick in window
+        long first = count - size;
+
+        // drop candidates leaving the window
+        while (minLength > 0 && minDeque[minFront] < first) {
+            minFront = (minFront + 1) % capacity;
+            minLength--;
+        }
+        while (maxLength > 0 && maxDeque[maxFront] < first) {
+            maxFront = (maxFront + 1) % capacity;
+            maxLength--;
+        }
+
+        // candidates no better than the new value will never be the answer again
+        while (minLength > 0 && valueOf(minDeque[(minFront + minLength - 1) % capacity]) >= value) {
+            minLength--;
+        }
+        while (maxLength > 0 && valueOf(maxDeque[(maxFront + maxLength - 1) % capacity]) <= value) {
+            maxLength--;
+        }
+
+        minDeque[(minFront + minLength++) % capacity] = sequence;
+        maxDeque[(maxFront + maxLength++) % capacity] = sequence;
+
+        return dropped;
+
+    }
+
+    /**
+     * @return maximum number of ticks kept
+     */
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * @return number of ticks in window
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return index of the first tick of window in the arrays
+     */
+    int getOffset() {
+        return head;
+    }
+
+    /**
+     * @return time column, window starts at getOffset()
+     */
+    long[] getTimes() {
+        return times;
+    }
+
+    /**
+     * @return value column, window starts at getOffset()
+     */
+    double[] getValues() {
+        return values;
+    }
+
+    /**
+     * @return minimum value of window, 0 if empty
+     */
+    double getMin() {
+        return minLength == 0 ? 0 : valueOf(minDeque[minFront]);
+    }
+
+    /**
+     * @return maximum value of window, 0 if empty
+     */
+    double getMax() {
+        return maxLength == 0 ? 0 : valueOf(maxDeque[maxFront]);
+    }
+
+    private double valueOf(long sequence) {
+        return values[(int) (sequence % capacity)];
+    }
+
+}
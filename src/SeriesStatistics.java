@@ -0,0 +1,236 @@
+/**
+ * Summary statistics of a price series
+ * computed in a single pass over the primitive columns, independent of the user interface
+ *
+ * @author Xudong Wang (xwang199@sheffield.ac.uk)
+ * @version 1.0 18 October 2026
+ */
+
+
+class SeriesStatistics {
+
+    // trading days per year to annualise daily volatility
+    private static final int TRADING_DAYS = 252;
+
+    private final String symbol;
+    private final int rows;
+
+    // first and last date in epoch days
+    private final int startDay;
+    private final int endDay;
+
+    private final double low;
+    private final double high;
+    private final double firstClose;
+    private final double lastClose;
+
+    // mean and standard deviation of daily log returns
+    private final double meanReturn;
+    private final double volatility;
+
+    // largest fall from a previous closing high, as a fraction
+    private final double maxDrawdown;
+
+    private final double totalVolume;
+
+    private SeriesStatistics(
+            String symbol,
+            int rows,
+            int startDay,
+            int endDay,
+            double low,
+            double high,
+            double firstClose,
+            double lastClose,
+            double meanReturn,
+            double volatility,
+            double maxDrawdown,
+            double totalVolume) {
+
+        this.symbol = symbol;
+        this.rows = rows;
+        this.startDay = startDay;
+        this.endDay = endDay;
+        this.low = low;
+        this.high = high;
+        this.firstClose = firstClose;
+        this.lastClose = lastClose;
+        this.meanReturn = meanReturn;
+        this.volatility = volatility;
+        this.maxDrawdown = maxDrawdown;
+        this.totalVolume = totalVolume;
+
+    }
+
+    /**
+     * Compute statistics of a series
+     *
+     * @param symbol ticker symbol
+     * @param series price series or a slice of it
+     * @return SeriesStatistics object, null for an empty series
+     */
+    static SeriesStatistics of(String symbol, PriceSeries series) {
+
+        int size = series.size();
+
+        if (size == 0) {
+            return null;
+        }
+
+        int offset = series.getOffset();
+        double[] lowColumn = series.getLow();
+        double[] highColumn = series.getHigh();
+        double[] close = series.getClose();
+        double[] volume = series.getVolume();
+
+        double low = Double.POSITIVE_INFINITY;
+        double high = Double.NEGATIVE_INFINITY;
+        double totalVolume = 0;
+
+        // running mean and sum of squared deviations of log returns, Welford's method
+        int returns = 0;
+        double mean = 0;
+        double squares = 0;
+
+        double peak = close[offset];
+        double maxDrawdown = 0;
+
+        for (int i = offset; i < offset + size; i++) {
+
+            low = Math.min(low, lowColumn[i]);
+            high = Math.max(high, highColumn[i]);
+            totalVolume += volume[i];
+
+            if (i > offset && close[i - 1] > 0 && close[i] > 0) {
+                double change = Math.log(close[i] / close[i - 1]);
+                double delta = change - mean;
+                mean += delta / ++returns;
+                squares += delta * (change - mean);
+            }
+
+            peak = Math.max(peak, close[i]);
+            if (peak > 0) {
+                maxDrawdown = Math.max(maxDrawdown, 1 - close[i] / peak);
+            }
+
+        }
+
+        double deviation = returns > 1 ? Math.sqrt(squares / (returns - 1)) : 0;
+        int[] epochDays = series.getEpochDays();
+
+        return new SeriesStatistics(
+                symbol,
+                size,
+                epochDays[offset],
+                epochDays[offset + size - 1],
+                low,
+                high,
+                close[offset],
+                close[offset + size - 1],
+                mean,
+                deviation,
+                maxDrawdown,
+                totalVolume
+        );
+
+    }
+
+    /**
+     * @return ticker symbol
+     */
+    String getSymbol() {
+        return symbol;
+    }
+
+    /**
+     * @return number of rows
+     */
+    int getRows() {
+        return rows;
+    }
+
+    /**
+     * @return first date in epoch days
+     */
+    int getStartDay() {
+        return startDay;
+    }
+
+    /**
+     * @return last date in epoch days
+     */
+    int getEndDay() {
+        return endDay;
+    }
+
+    /**
+     * @return lowest low
+     */
+    double getLow() {
+        return low;
+    }
+
+    /**
+     * @return highest high
+     */
+    double getHigh() {
+        return high;
+    }
+
+    /**
+     * @return close of the first row
+     */
+    double getFirstClose() {
+        return firstClose;
+    }
+
+    /**
+     * @return close of the last row
+     */
+    double getLastClose() {
+        return lastClose;
+    }
+
+    /**
+     * @return change from first close to last close, as a fraction
+     */
+    double getTotalReturn() {
+        return firstClose == 0 ? 0 : lastClose / firstClose - 1;
+    }
+
+    /**
+     * @return mean daily log return
+     */
+    double getMeanReturn() {
+        return meanReturn;
+    }
+
+    /**
+     * @return sample standard deviation of daily log returns
+     */
+    double getVolatility() {
+        return volatility;
+    }
+
+    /**
+     * @return daily volatility scaled to a year of trading days
+     */
+    double getAnnualVolatility() {
+        return volatility * Math.sqrt(TRADING_DAYS);
+    }
+
+    /**
+     * @return largest fall from a previous closing high, as a fraction
+     */
+    double getMaxDrawdown() {
+        return maxDrawdown;
+    }
+
+    /**
+     * @return sum of volume
+     */
+    double getTotalVolume() {
+        return totalVolume;
+    }
+
+}
@@ -0,0 +1,304 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+
+/**
+ * StreamingChartPanel class
+ * draw line chart of a live ring buffer series.
+ * The chart is cached in an image, an appended tick only draws its own segment,
+ * the plot area is scrolled by one step when the oldest tick is dropped,
+ * everything is rendered again only when the y-axis range changes.
+ *
+ * @author Xudong Wang (xwang199@sheffield.ac.uk)
+ * @version 1.0 18 October 2026
+ */
+
+
+class StreamingChartPanel extends ChartPanel {
+
+    private static final long serialVersionUID = 1L;
+
+    // member variables
+    private final String caption;
+    private final RingSeries series;
+
+    // y-axis range of current window and its labels
+    private Range range = Range.withRelativeMargin(0, 0);
+    private final String[] yLabels = new String[AXIS_NUMBER];
+
+    // cached chart, rebuilt when the size or range changes
+    private BufferedImage staticLayer;
+    private double layerScale;
+    private int layoutWidth;
+    private int layoutHeight;
+
+    // pixels between two ticks and height of line chart
+    private int xStep;
+    private int lineChartHeight;
+
+    // region scrolled when the oldest tick is dropped
+    private final Rectangle plotBounds = new Rectangle();
+    private final Rectangle dirtyBounds = new Rectangle();
+
+    // coordinates of ticks in window
+    private final int[] xPoints;
+    private final int[] yPoints;
+
+    // constant variables
+    private static final int CIRCLE_RADIUS = 4;
+
+    /**
+     * Class constructor
+     *
+     * @param caption of the line chart
+     * @param series  ring buffer to display, only appended through this panel
+     */
+    StreamingChartPanel(String caption, RingSeries series) {
+
+        this.caption = caption;
+        this.series = series;
+        this.xPoints = new int[series.capacity()];
+        this.yPoints = new int[series.capacity()];
+
+        updateRange(Range.withRelativeMargin(series.getMax(), series.getMin()));
+
+    }
+
+    /**
+     * Append one tick and draw its segment
+     * must be called on the event dispatch thread
+     *
+     * @param time  in epoch milliseconds
+     * @param value of tick
+     */
+    void append(long time, double value) {
+
+        boolean dropped = series.append(time, value);
+
+        // minimum and maximum are maintained by the series in O(1) amortised
+        Range latest = Range.withRelativeMargin(series.getMax(), series.getMin());
+
+        if (latest.getMax() != range.getMax() || latest.getMin() != range.getMin()) {
+            // y-axis changed, render everything again on next paint
+            updateRange(latest);
+            staticLayer = null;
+            repaint();
+            return;
+        }
+
+        if (staticLayer == null || series.size() < 2) {
+            // nothing rendered yet
+            repaint();
+            return;
+        }
+
+        Graphics2D g2d = createLayerGraphics();
+
+        int last = series.size() - 1;
+        double[] values = series.getValues();
+        int offset = series.getOffset();
+
+        int x1 = getX(last - 1);
+        int y1 = getY(values[offset + last - 1]);
+        int x2 = getX(last);
+        int y2 = getY(values[offset + last]);
+
+        if (dropped) {
+
+            // scroll plot area left by one tick
+            g2d.copyArea(plotBounds.x + xStep, plotBounds.y, plotBounds.width - xStep, plotBounds.height, -xStep, 0);
+
+            // clear strips uncovered by scrolling or scrolled into the margin
+            clearStrip(g2d, x1 + 1, plotBounds.x + plotBounds.width);
+            clearStrip(g2d, plotBounds.x, LEFT_MARGIN - 1);
+
+            dirtyBounds.setBounds(plotBounds);
+
+        } else {
+
+            dirtyBounds.setBounds(x1, Math.min(y1, y2), x2 - x1, Math.abs(y2 - y1));
+            // stroke width and antialiasing
+            dirtyBounds.grow(3, 3);
+
+        }
+
+        // draw new segment only
+        g2d.setStroke(THICK_STROKE);
+        g2d.setColor(DARK_BLUE);
+        g2d.drawLine(x1, y1, x2, y2);
+        g2d.dispose();
+
+        repaint(dirtyBounds.x, dirtyBounds.y, dirtyBounds.width, dirtyBounds.height);
+
+    }
+
+    /**
+     * Delegate's paint method
+     * the chart is drawn from the cached layer
+     *
+     * @param g Graphics object
+     */
+    public void paintComponent(Graphics g) {
+
+        super.paintComponent(g);
+        Graphics2D g2d = (Graphics2D) g;
+
+        // device scale, e.g. 2.0 on high-dpi screens
+        double scale = g2d.getTransform().getScaleX();
+
+        if (staticLayer == null || layoutWidth != getWidth() || layoutHeight != getHeight() || layerScale != scale) {
+            // first paint, size or range changed
+            renderStaticLayer(getWidth(), getHeight(), scale);
+        }
+
+        // only the clipped dirty region is copied
+        g2d.drawImage(staticLayer, 0, 0, layoutWidth, layoutHeight, null);
+
+    }
+
+    /**
+     * Format labels of y-axis
+     *
+     * @param latest range of current window
+     */
+    private void updateRange(Range latest) {
+
+        range = latest;
+
+        // the interval of each label on y-axis
+        double rangeStep = range.getRange() / (AXIS_NUMBER - 1);
+
+        for (int i = 0; i < AXIS_NUMBER; i++) {
+            double value = range.getMin() + i * rangeStep;
+            // format label
+            yLabels[i] = Util.toFormattedNumberString(value, range.getMin());
+        }
+
+    }
+
+    /**
+     * Render caption, axes, labels and the whole line into the cached layer
+     *
+     * @param width  of panel
+     * @param height of panel
+     * @param scale  device scale of the screen
+     */
+    private void renderStaticLayer(int width, int height, double scale) {
+
+        layoutWidth = width;
+        layoutHeight = height;
+        layerScale = scale;
+
+        // calculate line chart width and height
+        int lineChartWidth = width - LEFT_MARGIN - RIGHT_MARGIN;
+        lineChartHeight = height - TOP_MARGIN - BOTTOM_MARGIN;
+
+        // whole pixels between ticks, so scrolling moves the plot by exactly one tick
+        xStep = Math.max(1, lineChartWidth / Math.max(1, series.capacity() - 1));
+
+        int axisX1 = LEFT_MARGIN - AXIS_OFFSET;
+        int axisX2 = width - RIGHT_MARGIN + AXIS_OFFSET;
+        int axisY = height - BOTTOM_MARGIN;
+
+        // plot area between the top grid line and the bottom axis
+        plotBounds.setBounds(axisX1, TOP_MARGIN - 2, axisX2 - axisX1 + 1, axisY - TOP_MARGIN + 1);
+
+        staticLayer = new BufferedImage(
+                Math.max(1, (int) Math.ceil(width * scale)),
+                Math.max(1, (int) Math.ceil(height * scale)),
+                BufferedImage.TYPE_INT_RGB
+        );
+
+        Graphics2D g2d = createLayerGraphics();
+
+        // fill background
+        g2d.setColor(getBackground());
+        g2d.fillRect(0, 0, width, height);
+
+        // draw caption
+        drawCaption(g2d, caption);
+
+        // draw axis and labels on y-axis
+        int interval = lineChartHeight / (AXIS_NUMBER - 1);
+        drawXAxis(g2d, interval, axisX1, axisX2, axisY);
+        drawYAxisLabels(g2d, yLabels, interval, axisX1, axisY);
+
+        int size = series.size();
+        double[] values = series.getValues();
+        int offset = series.getOffset();
+
+        for (int i = 0; i < size; i++) {
+            xPoints[i] = getX(i);
+            yPoints[i] = getY(values[offset + i]);
+        }
+
+        g2d.setColor(DARK_BLUE);
+
+        if (size == 1) {
+            // draw a small data point instead for the single tick
+            g2d.fillOval(xPoints[0] - CIRCLE_RADIUS, yPoints[0] - CIRCLE_RADIUS, 2 * CIRCLE_RADIUS, 2 * CIRCLE_RADIUS);
+        } else {
+            g2d.setStroke(THICK_STROKE);
+            g2d.drawPolyline(xPoints, yPoints, size);
+        }
+
+        g2d.dispose();
+
+    }
+
+    /**
+     * Fill a vertical strip of the plot area with background and its grid lines
+     *
+     * @param g2d Graphics2D object of the cached layer
+     * @param x1  left edge, inclusive
+     * @param x2  right edge, exclusive
+     */
+    private void clearStrip(Graphics2D g2d, int x1, int x2) {
+
+        if (x2 <= x1) {
+            return;
+        }
+
+        Shape clip = g2d.getClip();
+        g2d.clipRect(x1, plotBounds.y, x2 - x1, plotBounds.height);
+
+        g2d.setColor(getBackground());
+        g2d.fillRect(x1, plotBounds.y, x2 - x1, plotBounds.height);
+        drawGridLines(g2d, lineChartHeight / (AXIS_NUMBER - 1), LEFT_MARGIN - AXIS_OFFSET, layoutWidth - RIGHT_MARGIN + AXIS_OFFSET, layoutHeight - BOTTOM_MARGIN);
+
+        g2d.setClip(clip);
+
+    }
+
+    /**
+     * @return Graphics2D object of the cached layer in panel coordinates
+     */
+    private Graphics2D createLayerGraphics() {
+
+        Graphics2D g2d = staticLayer.createGraphics();
+        g2d.scale(layerScale, layerScale);
+
+        // some render settings
+        initialise(g2d);
+
+        return g2d;
+
+    }
+
+    /**
+     * @param index of tick in window
+     * @return x coordinate
+     */
+    private int getX(int index) {
+        return LEFT_MARGIN + index * xStep;
+    }
+
+    /**
+     * @param value of tick
+     * @return y coordinate
+     */
+    private int getY(double value) {
+        return (int) ((range.getMax() - value) / range.getRange() * lineChartHeight) + TOP_MARGIN;
+    }
+
+}
@@ -0,0 +1,346 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+
+/**
+ * Compact binary snapshot of the ticker symbol list
+ * symbols are kept as a sorted array, company names share one char pool,
+ * the HTTP validators of the source file are stored to refresh it conditionally
+ *
+ * @author Xudong Wang (xwang199@sheffield.ac.uk)
+ * @version 1.0 18 October 2026
+ */
+
+
+class SymbolSnapshot {
+
+    // snapshot file header
+    private static final int MAGIC = 0x53594d31;
+    private static final int VERSION = 1;
+
+    // sorted ticker symbols
+    private final String[] symbols;
+
+    // company name of symbols[i] is namePool[nameOffsets[i], nameOffsets[i + 1])
+    private final char[] namePool;
+    private final int[] nameOffsets;
+
+    // validators of the source CSV file
+    private final String eTag;
+    private final String lastModified;
+
+    /**
+     * Class constructor
+     *
+     * @param symbols      sorted ticker symbols
+     * @param namePool     concatenated company names
+     * @param nameOffsets  start offset of each name, plus the end offset
+     * @param eTag         ETag of the source file
+     * @param lastModified Last-Modified date of the source file
+     */
+    private SymbolSnapshot(String[] symbols, char[] namePool, int[] nameOffsets, String eTag, String lastModified) {
+
+        this.symbols = symbols;
+        this.namePool = namePool;
+        this.nameOffsets = nameOffsets;
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+
+    }
+
+    /**
+     * Build snapshot from symbol CSV file like 'Symbol,Company Name'
+     *
+     * @param filePath     CSV filepath
+     * @param eTag         ETag of the file
+     * @param lastModified Last-Modified date of the file
+     * @return SymbolSnapshot object
+     * @throws IOException if parsing failed
+     */
+    static SymbolSnapshot fromCSV(String filePath, String eTag, String lastModified) throws IOException {
+
+        // key: ticker symbol value: company name
+        SortedMap<String, String> map = new TreeMap<>();
+
+        try (BufferedReader bufferedReader = Files.newBufferedReader(Paths.get(filePath), StandardCharsets.UTF_8)) {
+
+            // skip header
+            String line = bufferedReader.readLine();
+
+            while ((line = bufferedReader.readLine()) != null) {
+
+                int comma = line.indexOf(',');
+
+                if (comma <= 0) {
+                    continue;
+                }
+
+                // company name is the rest of the line, it may contain commas inside double quotes
+                map.put(line.substring(0, comma).trim(), line.substring(comma + 1).replace("\"", "").trim());
+
+            }
+
+        }
+
+        return of(map, eTag, lastModified);
+
+    }
+
+    /**
+     * Build snapshot from symbols and company names
+     *
+     * @param map          key: ticker symbol value: company name
+     * @param eTag         ETag of the source file
+     * @param lastModified Last-Modified date of the source file
+     * @return SymbolSnapshot object
+     */
+    static SymbolSnapshot of(SortedMap<String, String> map, String eTag, String lastModified) {
+
+        String[] symbols = map.keySet().toArray(new String[0]);
+        int[] nameOffsets = new int[symbols.length + 1];
+        StringBuilder pool = new StringBuilder();
+
+        for (int i = 0; i < symbols.length; i++) {
+            nameOffsets[i] = pool.length();
+            pool.append(map.get(symbols[i]));
+        }
+
+        nameOffsets[symbols.length] = pool.length();
+
+        char[] namePool = new char[pool.length()];
+        pool.getChars(0, pool.length(), namePool, 0);
+
+        return new SymbolSnapshot(symbols, namePool, nameOffsets, eTag, lastModified);
+
+    }
+
+    /**
+     * Read snapshot file
+     *
+     * @param path of snapshot file
+     * @return SymbolSnapshot object, null if the file is not a snapshot
+     * @throws IOException if reading failed or the file is truncated or corrupt
+     */
+    static SymbolSnapshot read(Path path) throws IOException {
+
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+
+        if (buffer.limit() < 2 * Integer.BYTES || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            return null;
+        }
+
+        String eTag = getString(buffer);
+        String lastModified = getString(buffer);
+
+        int count = getLength(buffer, Integer.BYTES);
+
+        // symbols are stored as a pool as well
+        char[] symbolPool = getChars(buffer);
+        int[] symbolOffsets = getOffsets(buffer, count + 1, symbolPool.length);
+
+        String[] symbols = new String[count];
+
+        for (int i = 0; i < count; i++) {
+            symbols[i] = new String(symbolPool, symbolOffsets[i], symbolOffsets[i + 1] - symbolOffsets[i]);
+        }
+
+        char[] namePool = getChars(buffer);
+        int[] nameOffsets = getOffsets(buffer, count + 1, namePool.length);
+
+        return new SymbolSnapshot(symbols, namePool, nameOffsets, eTag, lastModified);
+
+    }
+
+    /**
+     * Write snapshot file, the old file is replaced atomically
+     *
+     * @param path of snapshot file
+     * @throws IOException if writing failed
+     */
+    void write(Path path) throws IOException {
+
+        int[] symbolOffsets = new int[symbols.length + 1];
+        StringBuilder pool = new StringBuilder();
+
+        for (int i = 0; i < symbols.length; i++) {
+            symbolOffsets[i] = pool.length();
+            pool.append(symbols[i]);
+        }
+
+        symbolOffsets[symbols.length] = pool.length();
+
+        char[] symbolPool = new char[pool.length()];
+        pool.getChars(0, pool.length(), symbolPool, 0);
+
+        byte[] eTagBytes = eTag.getBytes(StandardCharsets.UTF_8);
+        byte[] lastModifiedBytes = lastModified.getBytes(StandardCharsets.UTF_8);
+
+        ByteBuffer buffer = ByteBuffer.allocate(
+                7 * Integer.BYTES
+                        + eTagBytes.length
+                        + lastModifiedBytes.length
+                        + (symbolPool.length + namePool.length) * Character.BYTES
+                        + 2 * (symbols.length + 1) * Integer.BYTES
+        );
+
+        buffer.putInt(MAGIC).putInt(VERSION);
+        buffer.putInt(eTagBytes.length).put(eTagBytes);
+        buffer.putInt(lastModifiedBytes.length).put(lastModifiedBytes);
+        buffer.putInt(symbols.length);
+
+        putChars(buffer, symbolPool);
+        putInts(buffer, symbolOffsets);
+
+        putChars(buffer, namePool);
+        putInts(buffer, nameOffsets);
+
+        Path temporaryPath = Paths.get(path + ".tmp");
+        Files.write(temporaryPath, buffer.array());
+        Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+    }
+
+    /**
+     * @return number of symbols
+     */
+    int size() {
+        return symbols.length;
+    }
+
+    /**
+     * @param index of symbol
+     * @return ticker symbol
+     */
+    String getSymbol(int index) {
+        return symbols[index];
+    }
+
+    /**
+     * @return ticker symbols in ascending order, shared and not to be modified
+     */
+    String[] getSymbols() {
+        return symbols;
+    }
+
+    /**
+     * @param index of symbol
+     * @return company name
+     */
+    String getName(int index) {
+        return new String(namePool, nameOffsets[index], nameOffsets[index + 1] - nameOffsets[index]);
+    }
+
+    /**
+     * @return ETag of the source file, empty if unknown
+     */
+    String getETag() {
+        return eTag;
+    }
+
+    /**
+     * @return Last-Modified date of the source file, empty if unknown
+     */
+    String getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Read a length prefix and check it against the bytes left
+     *
+     * @param buffer      snapshot content
+     * @param elementSize bytes of each element
+     * @return number of elements
+     * @throws IOException if the length is negative or the file is truncated
+     */
+    private static int getLength(ByteBuffer buffer, int elementSize) throws IOException {
+
+        if (buffer.remaining() < Integer.BYTES) {
+            throw new IOException("Truncated symbol snapshot");
+        }
+
+        int length = buffer.getInt();
+
+        if (length < 0 || length > buffer.remaining() / elementSize) {
+            throw new IOException("Truncated symbol snapshot");
+        }
+
+        return length;
+
+    }
+
+    private static String getString(ByteBuffer buffer) throws IOException {
+
+        byte[] bytes = new byte[getLength(buffer, Byte.BYTES)];
+        buffer.get(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+
+    }
+
+    private static char[] getChars(ByteBuffer buffer) throws IOException {
+
+        char[] chars = new char[getLength(buffer, Character.BYTES)];
+        buffer.asCharBuffer().get(chars);
+        buffer.position(buffer.position() + chars.length * Character.BYTES);
+
+        return chars;
+
+    }
+
+    /**
+     * Read pool offsets, which must ascend from zero to the pool length
+     *
+     * @param buffer     snapshot content
+     * @param length     number of offsets
+     * @param poolLength number of chars in the pool
+     * @return offsets
+     * @throws IOException if the file is truncated or the offsets are out of the pool
+     */
+    private static int[] getOffsets(ByteBuffer buffer, int length, int poolLength) throws IOException {
+
+        if (length > buffer.remaining() / Integer.BYTES) {
+            throw new IOException("Truncated symbol snapshot");
+        }
+
+        int[] offsets = new int[length];
+        buffer.asIntBuffer().get(offsets);
+        buffer.position(buffer.position() + length * Integer.BYTES);
+
+        for (int i = 0; i < length; i++) {
+            if (offsets[i] < (i == 0 ? 0 : offsets[i - 1]) || offsets[i] > poolLength) {
+                throw new IOException("Corrupt symbol snapshot");
+            }
+        }
+
+        if (offsets[length - 1] != poolLength) {
+            throw new IOException("Corrupt symbol snapshot");
+        }
+
+        return offsets;
+
+    }
+
+    private static void putChars(ByteBuffer buffer, char[] chars) {
+
+        buffer.putInt(chars.length);
+        buffer.asCharBuffer().put(chars);
+        buffer.position(buffer.position() + chars.length * Character.BYTES);
+
+    }
+
+    private static void putInts(ByteBuffer buffer, int[] ints) {
+
+        buffer.asIntBuffer().put(ints);
+        buffer.position(buffer.position() + ints.length * Integer.BYTES);
+
+    }
+
+}
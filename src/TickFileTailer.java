@@ -0,0 +1,180 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+
+/**
+ * Local tick feed that follows a growing text file
+ * each line is like '1539871200000,101.25', epoch milliseconds and price,
+ * lines appended by another process are delivered to the listener on the tailing thread
+ *
+ * @author Xudong Wang (xwang199@sheffield.ac.uk)
+ * @version 1.0 18 October 2026
+ */
+
+
+class TickFileTailer implements Closeable {
+
+    private static final long POLL_INTERVAL_MILLIS = 200;
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Path path;
+    private final Listener listener;
+    private final Thread thread;
+
+    private volatile boolean running = true;
+
+    // bytes of the file consumed so far
+    private long position = 0;
+
+    // incomplete last line waiting for its line break
+    private final StringBuilder pending = new StringBuilder();
+
+    /**
+     * Class constructor
+     *
+     * @param path     of tick file
+     * @param listener to receive ticks
+     */
+    TickFileTailer(Path path, Listener listener) {
+
+        this.path = path;
+        this.listener = listener;
+
+        this.thread = new Thread(this::run, "tick-tailer-" + path.getFileName());
+        // the tailing thread never keeps the application alive
+        this.thread.setDaemon(true);
+
+    }
+
+    /**
+     * Start following the file from its beginning
+     */
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * Stop following the file
+     */
+    @Override
+    public void close() {
+
+        running = false;
+        thread.interrupt();
+
+    }
+
+    private void run() {
+
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+        while (running) {
+
+            try {
+                if (Files.isRegularFile(path)) {
+                    poll(buffer);
+                }
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            } catch (IOException e) {
+                // file may be replaced by the writer, try again on next poll
+                e.printStackTrace();
+            }
+
+        }
+
+    }
+
+    /**
+     * Read bytes appended since last poll
+     *
+     * @param buffer reused read buffer
+     * @throws IOException if reading failed
+     */
+    private void poll(ByteBuffer buffer) throws IOException {
+
+        try (FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+
+            if (fileChannel.size() < position) {
+                // file truncated, start again
+                position = 0;
+                pending.setLength(0);
+            }
+
+            fileChannel.position(position);
+
+            int length;
+
+            while (running && (length = fileChannel.read(buffer)) > 0) {
+
+                position += length;
+
+                // ticks are plain ASCII
+                pending.append(new String(buffer.array(), 0, length, StandardCharsets.US_ASCII));
+                buffer.clear();
+
+                deliverLines();
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Parse complete lines in pending text and deliver them
+     */
+    private void deliverLines() {
+
+        int start = 0;
+        int end;
+
+        while ((end = pending.indexOf("\n", start)) >= 0) {
+
+            String line = pending.substring(start, end).trim();
+            start = end + 1;
+
+            int comma = line.indexOf(',');
+
+            if (comma <= 0) {
+                // blank line or header
+                continue;
+            }
+
+            try {
+                long time = Long.parseLong(line.substring(0, comma).trim());
+                double price = Double.parseDouble(line.substring(comma + 1).trim());
+                listener.onTick(time, price);
+            } catch (NumberFormatException e) {
+                // skip malformed line
+            }
+
+        }
+
+        pending.delete(0, start);
+
+    }
+
+    /**
+     * Receiver of ticks
+     */
+    interface Listener {
+
+        /**
+         * Called for every tick in file order
+         *
+         * @param time  in epoch milliseconds
+         * @param price of tick
+         */
+        void onTick(long time, double price);
+
+    }
+
+}
@@ -0,0 +1,164 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+
+/**
+ * Concurrency stress test of DataParser
+ * hundreds of price files are read and parsed in parallel on one shared parser,
+ * every result must be identical to a sequential parse of the same file
+ * <p>
+ * usage: java -Djava.awt.headless=true DataParserConcurrencyTest
+ *
+ * @author Xudong Wang (xwang199@sheffield.ac.uk)
+ * @version 1.0 18 October 2026
+ */
+
+
+class DataParserConcurrencyTest {
+
+    private static final int FILE_COUNT = 300;
+    private static final int PARSES_PER_FILE = 4;
+    private static final int THREADS = 16;
+
+    // every kind of indicator, each keeps rolling state while parsing
+    private static final String INDICATORS = "SMA20,EMA12,BB20,RSI14,MACD,VWAP";
+
+    private static final LocalDate END_DATE = LocalDate.of(2018, 12, 30);
+
+    public static void main(String[] args) throws Exception {
+
+        System.setProperty("java.awt.headless", "true");
+
+        Path directory = Files.createTempDirectory("parser-test");
+
+        try {
+
+            // files of different lengths, up to about 12 years of rows
+            Random random = new Random(11);
+            List<Path> files = new ArrayList<>(FILE_COUNT);
+
+            for (int i = 0; i < FILE_COUNT; i++) {
+                Path file = directory.resolve("SYN" + i + ".csv");
+                LocalDate startDate = END_DATE.minusDays(30 + random.nextInt(4500));
+                Files.write(file, QuoteServer.getQuotes("SYN" + i, startDate, END_DATE).toString().getBytes(StandardCharsets.US_ASCII));
+                files.add(file);
+            }
+
+            DataParser dataParser = new DataParser(INDICATORS);
+
+            // reference results, one at a time
+            List<String> expected = new ArrayList<>(FILE_COUNT);
+            for (Path file : files) {
+                expected.add(fingerprint(dataParser, file));
+            }
+
+            // every file several times in a random order
+            List<Integer> order = new ArrayList<>(FILE_COUNT * PARSES_PER_FILE);
+            for (int i = 0; i < FILE_COUNT * PARSES_PER_FILE; i++) {
+                order.add(i % FILE_COUNT);
+            }
+            Collections.shuffle(order, random);
+
+            ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+            CountDownLatch startSignal = new CountDownLatch(1);
+            AtomicInteger mismatches = new AtomicInteger();
+            List<Future<?>> futures = new ArrayList<>(order.size());
+
+            for (int index : order) {
+                futures.add(executor.submit(() -> {
+
+                    // all workers start together to maximise overlap
+                    startSignal.await();
+
+                    if (!fingerprint(dataParser, files.get(index)).equals(expected.get(index))) {
+                        System.err.println("Mismatch: " + files.get(index).getFileName());
+                        mismatches.incrementAndGet();
+                    }
+
+                    return null;
+
+                }));
+            }
+
+            startSignal.countDown();
+
+            for (Future<?> future : futures) {
+                // rethrows any exception of a worker
+                future.get();
+            }
+
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+
+            System.out.println(order.size() + " parallel parses on " + THREADS + " threads, " + mismatches.get() + " mismatches");
+
+            if (mismatches.get() > 0) {
+                throw new AssertionError(mismatches.get() + " parallel parses differ from the sequential parse");
+            }
+
+        } finally {
+            try (Stream<Path> stream = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) stream::iterator) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        }
+
+    }
+
+    /**
+     * Read, parse and build panels of a file, then describe everything computed
+     *
+     * @param dataParser shared parser
+     * @param file       price CSV file
+     * @return exact description of rows, indicators, panels and date labels
+     * @throws IOException if the file cannot be read
+     */
+    private static String fingerprint(DataParser dataParser, Path file) throws IOException {
+
+        ParsedSeries parsed = dataParser.parse(PriceFileReader.read(file.toString()));
+        PriceSeries series = parsed.getSeries();
+
+        StringBuilder builder = new StringBuilder();
+        builder.append(parsed.size()).append(' ').append(dataParser.getPanels(parsed).size()).append('\n');
+
+        for (Indicator indicator : parsed.getIndicators()) {
+            builder.append(indicator.getName()).append(' ').append(indicator.size());
+            for (int line = 0; line < indicator.getLineCount(); line++) {
+                // bit patterns, so any difference in the last place is caught
+                double[] values = Arrays.copyOf(indicator.getLine(line), indicator.size());
+                builder.append(' ');
+                for (double value : values) {
+                    builder.append(',').append(Long.toHexString(Double.doubleToRawLongBits(value)));
+                }
+            }
+            builder.append('\n');
+        }
+
+        // labels come from a cache shared by all threads
+        int[] epochDays = series.getEpochDays();
+        for (int i = series.getOffset(); i < series.getOffset() + series.size(); i++) {
+            builder.append(EpochDays.getLabel(epochDays[i])).append(';');
+        }
+
+        return builder.toString();
+
+    }
+
+}
@@ -0,0 +1,116 @@
+import java.util.SplittableRandom;
+
+
+/**
+ * Accuracy test of the rolling indicators
+ * the simple moving average and Bollinger bands of long, high-priced series with small moves
+ * must match a two-pass computation of every window
+ * <p>
+ * usage: java IndicatorTest
+ *
+ * @author Xudong Wang (xwang199@sheffield.ac.uk)
+ * @version 1.0 18 October 2026
+ */
+
+
+class IndicatorTest {
+
+    private static final int PERIOD = 20;
+    private static final int BARS = 200000;
+
+    // relative error allowed against the two-pass computation
+    private static final double TOLERANCE = 1e-6;
+
+    public static void main(String[] args) {
+
+        SplittableRandom random = new SplittableRandom(3);
+
+        // cents moving on prices from one dollar to ten million dollars
+        for (double level : new double[]{1, 100, 1e4, 1e7}) {
+
+            PriceSeries.Builder builder = new PriceSeries.Builder(BARS);
+
+            double price = level;
+            for (int i = 0; i < BARS; i++) {
+                // flat stretches give windows of zero deviation
+                if (random.nextInt(10) > 0) {
+                    price = Math.max(0.01, price + (random.nextInt(21) - 10) * 0.01);
+                }
+                builder.add(i, price, price, price, price, 1);
+            }
+
+            PriceSeries series = builder.build();
+            check(series, Indicator.sma(PERIOD), false);
+            check(series, Indicator.bollinger(PERIOD, 2), true);
+
+        }
+
+        System.out.println("rolling indicators match the two-pass computation");
+
+    }
+
+    /**
+     * Compare every bar of an indicator with the two-pass mean and standard deviation of its window
+     *
+     * @param series      price series
+     * @param indicator   to check
+     * @param isBollinger true if upper and lower bands are checked too
+     */
+    private static void check(PriceSeries series, Indicator indicator, boolean isBollinger) {
+
+        indicator.compute(series);
+        double[] close = series.getClose();
+
+        for (int i = 0; i < series.size(); i++) {
+
+            if (i < PERIOD - 1) {
+                assertClose(Double.NaN, indicator.getLine(0)[i], 0, indicator, i);
+                continue;
+            }
+
+            double sum = 0;
+            for (int j = i - PERIOD + 1; j <= i; j++) {
+                sum += close[j];
+            }
+            double mean = sum / PERIOD;
+
+            double squares = 0;
+            for (int j = i - PERIOD + 1; j <= i; j++) {
+                squares += (close[j] - mean) * (close[j] - mean);
+            }
+            double width = 2 * Math.sqrt(squares / PERIOD);
+
+            assertClose(mean, indicator.getLine(0)[i], mean, indicator, i);
+
+            if (isBollinger) {
+                // the bands are checked by their width, which is what cancels on high prices
+                assertClose(width, indicator.getLine(1)[i] - mean, mean, indicator, i);
+                assertClose(width, mean - indicator.getLine(2)[i], mean, indicator, i);
+            }
+
+        }
+
+    }
+
+    /**
+     * @param expected  value
+     * @param actual    value
+     * @param scale     size of the price, differences below its rounding error are ignored
+     * @param indicator checked
+     * @param index     of bar
+     */
+    private static void assertClose(double expected, double actual, double scale, Indicator indicator, int index) {
+
+        if (Double.isNaN(expected) && Double.isNaN(actual)) {
+            return;
+        }
+
+        double allowed = TOLERANCE * Math.abs(expected) + 1e-12 * scale;
+
+        if (!(Math.abs(expected - actual) <= allowed)) {
+            throw new AssertionError(indicator.getName() + " bar " + index + ": expected " + expected + " but was " + actual);
+        }
+
+    }
+
+}
@@ -0,0 +1,121 @@
+import java.awt.Graphics2D;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import java.util.SplittableRandom;
+
+
+/**
+ * Allocation test of the chart paint path
+ * repeated paints of an unchanged chart, with and without a hovered data point,
+ * must stay within a small number of bytes each, the static layer is not rebuilt
+ * <p>
+ * usage: java -Djava.awt.headless=true LineChartPanelAllocationTest
+ *
+ * @author Xudong Wang (xwang199@sheffield.ac.uk)
+ * @version 1.0 18 October 2026
+ */
+
+
+class LineChartPanelAllocationTest {
+
+    private static final int WIDTH = 800;
+    private static final int HEIGHT = 400;
+
+    private static final int DATA_SIZE = 5000;
+
+    private static final int WARM_UP_PAINTS = 2000;
+    private static final int MEASURED_PAINTS = 10000;
+
+    // bytes per paint left to Swing and Java2D, a rebuilt layer or reformatted label costs far more
+    private static final long MAX_BYTES_PER_PAINT = 4096;
+
+    public static void main(String[] args) {
+
+        System.setProperty("java.awt.headless", "true");
+
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+
+        LineChartPanel panel = getPanel();
+        panel.setSize(WIDTH, HEIGHT);
+
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = image.createGraphics();
+
+        // hovered points cycle within the detail cache, so details are formatted during warm-up only
+        int[] hoverXs = {100, 250, 400, 550, 700};
+
+        for (boolean isHovering : new boolean[]{false, true}) {
+
+            for (int i = 0; i < WARM_UP_PAINTS; i++) {
+                paint(panel, g2d, isHovering ? hoverXs[i % hoverXs.length] : -1);
+            }
+
+            long threadId = Thread.currentThread().getId();
+            long before = threadBean.getThreadAllocatedBytes(threadId);
+
+            for (int i = 0; i < MEASURED_PAINTS; i++) {
+                paint(panel, g2d, isHovering ? hoverXs[i % hoverXs.length] : -1);
+            }
+
+            long bytesPerPaint = (threadBean.getThreadAllocatedBytes(threadId) - before) / MEASURED_PAINTS;
+
+            System.out.println((isHovering ? "hovered" : "idle") + " paint allocates " + bytesPerPaint + " bytes");
+
+            if (bytesPerPaint > MAX_BYTES_PER_PAINT) {
+                throw new AssertionError((isHovering ? "hovered" : "idle") + " paint allocates "
+                        + bytesPerPaint + " bytes, more than " + MAX_BYTES_PER_PAINT);
+            }
+
+        }
+
+        g2d.dispose();
+
+    }
+
+    /**
+     * Move the pointer and paint the whole panel
+     *
+     * @param panel to paint
+     * @param g2d   offscreen graphics
+     * @param x     pointer position, -1 for outside the chart
+     */
+    private static void paint(LineChartPanel panel, Graphics2D g2d, int x) {
+
+        panel.mouseMoved(new MouseEvent(panel, MouseEvent.MOUSE_MOVED, 0, 0, Math.max(x, 0), x < 0 ? 0 : HEIGHT / 2, 0, false));
+        panel.paintComponent(g2d);
+
+    }
+
+    /**
+     * Build a close price chart of a random walk
+     *
+     * @return LineChartPanel object
+     */
+    private static LineChartPanel getPanel() {
+
+        double[] close = new double[DATA_SIZE];
+        int[] epochDays = new int[DATA_SIZE];
+
+        double price = 100;
+        SplittableRandom random = new SplittableRandom(7);
+
+        for (int i = 0; i < DATA_SIZE; i++) {
+            price *= 1 + (random.nextDouble() - 0.5) * 0.04;
+            close[i] = price;
+            epochDays[i] = 17000 + i;
+        }
+
+        return new LineChartPanel(
+                "CLOSE",
+                close,
+                0,
+                DATA_SIZE,
+                epochDays,
+                (builder, i) -> NumberFormatter.append(builder, close[i]).append(" USD  ").append(EpochDays.getLabel(epochDays[i]))
+        );
+
+    }
+
+}
@@ -0,0 +1,154 @@
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+
+/**
+ * Differential test of NumberFormatter against the DecimalFormat and String.format code it replaced
+ * the only differences allowed are a leading zero before fractions and no minus sign on zero
+ * <p>
+ * usage: java NumberFormatterTest
+ *
+ * @author Xudong Wang (xwang199@sheffield.ac.uk)
+ * @version 1.0 18 October 2026
+ */
+
+
+class NumberFormatterTest {
+
+    private static final int RANDOM_VALUES = 2000000;
+
+    // formatters of the replaced Util code, with fixed symbols so the test does not depend on the locale
+    private static final DecimalFormat INTEGER_FORMATTER = new DecimalFormat("#,###", DecimalFormatSymbols.getInstance(Locale.US));
+    private static final DecimalFormat DECIMAL_FORMATTER = new DecimalFormat("#,###.00", DecimalFormatSymbols.getInstance(Locale.US));
+
+    private static int checked;
+
+    public static void main(String[] args) {
+
+        SplittableRandom random = new SplittableRandom(42);
+
+        // known ties, both sides of the stored binary value
+        for (double value : new double[]{36.235, 28978.645, 0.125, 2.375, 1.005, 0.015, 1.45, 0.05, 1e13 + 0.125}) {
+            checkPrice(value);
+            checkPrice(-value);
+            checkScaled(value * 1e3, 1e3);
+        }
+
+        for (int i = 0; i < RANDOM_VALUES; i++) {
+
+            // three decimals, half of them ties of the cents
+            double threeDecimals = random.nextLong(-100000000000L, 100000000000L) / 1000.0;
+            checkPrice(threeDecimals);
+
+            // any magnitude a price or volume can have
+            double anyValue = Math.scalb(random.nextDouble(), random.nextInt(-10, 45));
+            checkPrice(anyValue);
+
+            // volumes in K, M and B, with ties of the tenths
+            double min = Math.pow(10, random.nextInt(3, 12));
+            checkScaled(random.nextLong(0, 100000000000000L) / 100.0, min);
+            checkScaled(anyValue, min);
+
+        }
+
+        System.out.println(checked + " values match the replaced formatters");
+
+    }
+
+    /**
+     * Compare price formatting with the replaced DecimalFormat code
+     *
+     * @param value to be formatted
+     */
+    private static void checkPrice(double value) {
+
+        String expected = normalise(formatPrice(value));
+        String actual = NumberFormatter.append(new StringBuilder(), value).toString();
+
+        assertEquals(expected, actual, value);
+
+    }
+
+    /**
+     * Compare K, M and B formatting with the replaced String.format code
+     *
+     * @param value to be formatted
+     * @param min   value of the series
+     */
+    private static void checkScaled(double value, double min) {
+
+        String expected;
+
+        if (min < 1e3) {
+            expected = normalise(formatPrice(value));
+        } else if (min < 1e6) {
+            expected = String.format(Locale.US, "%.1f K", value / 1e3);
+        } else if (min < 1e9) {
+            expected = String.format(Locale.US, "%.1f M", value / 1e6);
+        } else {
+            expected = String.format(Locale.US, "%.1f B", value / 1e9);
+        }
+
+        String actual = NumberFormatter.append(new StringBuilder(), value, min).toString();
+
+        assertEquals(normalise(expected), actual, value);
+
+    }
+
+    /**
+     * Format price like the replaced Util.toFormattedNumberString
+     *
+     * @param value to be formatted
+     * @return formatted value
+     */
+    private static String formatPrice(double value) {
+
+        if (value % 1 == 0) {
+            return INTEGER_FORMATTER.format(value);
+        }
+
+        String string = DECIMAL_FORMATTER.format(value);
+        if (string.charAt(string.length() - 1) == '0') {
+            string = string.substring(0, string.length() - 1);
+        }
+
+        return string;
+
+    }
+
+    /**
+     * Apply the intended differences to an output of the replaced code
+     * e.g. .96 => 0.96, -.0 => 0.0, -0.0 M => 0.0 M
+     *
+     * @param string formatted by the replaced code
+     * @return string expected from NumberFormatter
+     */
+    private static String normalise(String string) {
+
+        if (string.startsWith(".")) {
+            string = "0" + string;
+        } else if (string.startsWith("-.")) {
+            string = "-0" + string.substring(1);
+        }
+
+        if (string.startsWith("-") && string.replaceAll("[^1-9]", "").isEmpty()) {
+            string = string.substring(1);
+        }
+
+        return string;
+
+    }
+
+    private static void assertEquals(String expected, String actual, double value) {
+
+        checked++;
+
+        if (!expected.equals(actual)) {
+            throw new AssertionError("value " + value + " (" + Double.doubleToLongBits(value) + "): expected " + expected + " but was " + actual);
+        }
+
+    }
+
+}